@@ -22,12 +22,22 @@ public class ScheduleOptimizer {
     private static final double DURATION_WEIGHT = 0.1;    // 10% - Shorter meetings preferred
     
     public OptimizedScheduleResult optimizeSchedule(List<Meeting> meetings, List<Availability> availabilities) {
+        return optimizeSchedule(meetings, availabilities, List.of());
+    }
+    
+    /**
+     * Same, with time that is already taken elsewhere (e.g. busy times from an external
+     * calendar): no meeting is placed over it.
+     */
+    public OptimizedScheduleResult optimizeSchedule(List<Meeting> meetings, List<Availability> availabilities,
+                                                    List<OccupiedSlot> busy) {
         log.info("\n" + "=".repeat(80));
         log.info("🚀 SCHEDULE OPTIMIZATION STARTED");
         log.info("=".repeat(80));
         log.info("📊 INPUT PARAMETERS:");
         log.info("   • Meetings to schedule: {}", meetings.size());
         log.info("   • Availability slots: {}", availabilities.size());
+        log.info("   • External busy slots: {}", busy.size());
         log.info("");
         
         // Print all meetings with details
@@ -94,7 +104,7 @@ public class ScheduleOptimizer {
         }
         log.info("");
         
-        List<OccupiedSlot> occupiedSlots = new ArrayList<>();
+        List<OccupiedSlot> occupiedSlots = new ArrayList<>(busy);
         
         System.out.println("📅 SCHEDULING PROCESS:");
         System.out.println("-".repeat(80));
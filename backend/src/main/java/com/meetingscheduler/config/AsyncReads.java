@@ -0,0 +1,76 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs polled read endpoints off the Tomcat workers. The pool is sized close to the
+ * connection pools, so a polling spike waits in a bounded queue (and is rejected with 503
+ * once it is full) instead of parking every servlet thread on Hikari; writes, event streams
+ * and in-memory endpoints keep their threads, and streamed bodies have their own pool (see
+ * AsyncStreams), so slow downloads never hold these. Callable-based, so open-in-view still
+ * binds the request's EntityManager to the worker thread and lazy associations serialize as
+ * before.
+ */
+@Component
+public class AsyncReads {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final long timeoutMillis;
+
+    public AsyncReads(MeterRegistry meterRegistry,
+                      @Value("${scheduler.reads.threads:8}") int threads,
+                      @Value("${scheduler.reads.queue-capacity:200}") int queueCapacity,
+                      @Value("${scheduler.reads.timeout-ms:10000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("read-");
+        executor.setTaskDecorator(AsyncReads::carryUser);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "reads", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public AsyncTaskExecutor executor() {
+        return executor;
+    }
+    
+    public WebAsyncTask<ResponseEntity<?>> submit(Callable<ResponseEntity<?>> read) {
+        WebAsyncTask<ResponseEntity<?>> task = new WebAsyncTask<>(timeoutMillis, executor, read);
+        task.onTimeout(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body("Request timed out, please retry"));
+        return task;
+    }
+
+    /** Carries the request's user across so replica routing still honours read-your-writes. */
+    static Runnable carryUser(Runnable task) {
+        UUID userId = ReadYourWritesTracker.getCurrentUser();
+        return () -> {
+            ReadYourWritesTracker.setCurrentUser(userId);
+            try {
+                task.run();
+            } finally {
+                ReadYourWritesTracker.clearCurrentUser();
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes streamed response bodies (JSON lists, calendar feeds); the MVC default executor, see
+ * WebConfig. A body holds its thread for as long as the client takes to read it, so these get
+ * a pool of their own rather than the read pool: a few slow downloads queue here, and past the
+ * queue get a 503, while polled reads keep their threads.
+ */
+@Component
+public class AsyncStreams {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public AsyncStreams(MeterRegistry meterRegistry,
+                        @Value("${scheduler.streaming.threads:8}") int threads,
+                        @Value("${scheduler.streaming.queue-capacity:50}") int queueCapacity) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.setTaskDecorator(AsyncReads::carryUser);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "streams", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public AsyncTaskExecutor executor() {
+        return executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    // Hit/miss/put counters per region are already published by hibernate-micrometer;
+    // these gauges add the ratio so dashboards don't have to derive it
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return registry -> {
+            registerHitRatio(registry, "users", statistics::getDomainDataRegionStatistics);
+            registerHitRatio(registry, "users-by-role", statistics::getQueryRegionStatistics);
+        };
+    }
+
+    private void registerHitRatio(MeterRegistry registry, String region,
+                                  Function<String, CacheRegionStatistics> lookup) {
+        Gauge.builder("hibernate.second.level.cache.hit.ratio", () -> {
+                    CacheRegionStatistics regionStatistics = lookup.apply(region);
+                    if (regionStatistics == null) {
+                        return 0.0;
+                    }
+                    long hits = regionStatistics.getHitCount();
+                    long total = hits + regionStatistics.getMissCount();
+                    return total == 0 ? 0.0 : (double) hits / total;
+                })
+                .tag("region", region)
+                .description("Second-level cache hit ratio since startup")
+                .register(registry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.meetingscheduler.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Serves a body that is generated while it is sent, with conditional GET (If-None-Match,
+ * If-Modified-Since). Byte ranges are not supported: a slice needs the length up front, so
+ * the body would be generated twice, and the two passes could read different data. Range
+ * headers are ignored and the whole body is sent, which HTTP allows.
+ */
+@Component
+public class ConditionalStreams {
+
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /** Null when the request was answered with 304. */
+    public ResponseEntity<StreamingResponseBody> respond(WebRequest request, String etag,
+                                                         Instant lastModified, MediaType contentType, Body body) {
+        if (request.checkNotModified(etag, lastModified != null ? lastModified.toEpochMilli() : -1)) {
+            return null;
+        }
+        // No eTag() or lastModified(): checkNotModified already set both headers
+        return ResponseEntity.ok()
+            .header(HttpHeaders.ACCEPT_RANGES, "none")
+            .cacheControl(CacheControl.noCache())
+            .contentType(contentType)
+            .body(body::writeTo);
+    }
+
+    /**
+     * A plain-text 400 for endpoints declared to stream; MVC only picks the streaming handler
+     * when the declared body type is StreamingResponseBody.
+     */
+    public static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        return ResponseEntity.badRequest()
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
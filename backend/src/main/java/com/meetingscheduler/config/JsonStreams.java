@@ -0,0 +1,107 @@
+package com.meetingscheduler.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Writes a list to the response as a JSON array, a keyset page at a time. Each page is read
+ * in its own short read-only transaction and written after it ends, so a slow client holds a
+ * socket but never a pooled connection or an open snapshot. Open-in-view binds one
+ * EntityManager to the thread writing the body and every page's transaction joins it, so it
+ * is cleared once a page is written; memory stays at one page.
+ * Pages come from separate snapshots: a row changed while the body is written may show up
+ * in its old or new place, or, when its sort key moves, twice or not at all.
+ * Bodies run on the streaming pool (see AsyncStreams). Once the first row is written the status is
+ * committed: a failure part-way through ends the response early instead of becoming a 500.
+ */
+@Component
+public class JsonStreams {
+
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int pageSize;
+
+    public JsonStreams(ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       EntityManagerFactory entityManagerFactory,
+                       @Value("${scheduler.streaming.page-size:500}") int pageSize) {
+        // Flushing after every row would turn each one into its own chunk
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManagerFactory = entityManagerFactory;
+        this.pageSize = pageSize;
+    }
+
+    public <T> StreamingResponseBody array(Keyset<T> query) {
+        return array(query, () -> true);
+    }
+
+    /**
+     * For a body sent under a version tag: current is checked in each page's transaction before
+     * the page is read, and a page whose replica is behind the tag is read on the primary.
+     */
+    public <T> StreamingResponseBody array(Keyset<T> query, BooleanSupplier current) {
+        return out -> write(query, current, out);
+    }
+
+    private <T> void write(Keyset<T> query, BooleanSupplier current, OutputStream out) throws IOException {
+        try (JsonGenerator json = writer.getFactory().createGenerator(out)) {
+            json.writeStartArray();
+            List<T> page = page(query, null, current);
+            while (true) {
+                for (T row : page) {
+                    writer.writeValue(json, row);
+                }
+                detach();
+                if (page.size() < pageSize) {
+                    break;
+                }
+                page = page(query, page.get(page.size() - 1), current);
+            }
+            json.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Without open-in-view each page's EntityManager closes with its transaction. */
+    private void detach() {
+        EntityManager bound = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (bound != null) {
+            bound.clear();
+        }
+    }
+
+    private <T> List<T> page(Keyset<T> query, T after, BooleanSupplier current) {
+        List<T> page = readOnlyTransaction.execute(status -> current.getAsBoolean() ? query.next(after, pageSize) : null);
+        if (page == null) {
+            page = ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> query.next(after, pageSize)));
+        }
+        return page;
+    }
+
+    @FunctionalInterface
+    public interface Keyset<T> {
+
+        /** Up to limit rows following after (from the start when null), in a total order. */
+        List<T> next(T after, int limit);
+    }
+}
@@ -0,0 +1,214 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps optimizations from crowding out everything else. They run on their own small pool
+ * behind a concurrency limit, so a burst never holds more than a few Tomcat threads' worth
+ * of connections and reads keep theirs. Beyond the limit requests wait in a short queue;
+ * once that is full they are shed with 429 and a Retry-After estimated from recent runs.
+ * <p>
+ * The limit adapts (AIMD): it grows by one per limit's worth of runs that finish under the
+ * latency threshold while the limit is in use, and shrinks by the backoff ratio when a run is
+ * slower than that or fails, e.g. because it waited too long for a connection.
+ */
+@Component
+@Slf4j
+public class OptimizationBulkhead {
+
+    private final ThreadPoolExecutor pool;
+    private final Deque<Job<?>> waiting = new ArrayDeque<>();
+    private final int queueDepth;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdMillis;
+    private final double backoffRatio;
+    private final long timeoutMillis;
+    private final Counter rejected;
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private double averageMillis;
+
+    public OptimizationBulkhead(MeterRegistry meterRegistry,
+                                @Value("${scheduler.optimization.bulkhead.initial-limit:2}") int initialLimit,
+                                @Value("${scheduler.optimization.bulkhead.min-limit:1}") int minLimit,
+                                @Value("${scheduler.optimization.bulkhead.max-limit:3}") int maxLimit,
+                                @Value("${scheduler.optimization.bulkhead.queue-depth:20}") int queueDepth,
+                                @Value("${scheduler.optimization.bulkhead.latency-threshold-ms:5000}") long latencyThresholdMillis,
+                                @Value("${scheduler.optimization.bulkhead.backoff-ratio:0.75}") double backoffRatio,
+                                @Value("${scheduler.optimization.bulkhead.timeout-ms:60000}") long timeoutMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.queueDepth = queueDepth;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.backoffRatio = backoffRatio;
+        this.timeoutMillis = timeoutMillis;
+        this.averageMillis = latencyThresholdMillis / 2.0;
+        AtomicInteger threads = new AtomicInteger();
+        // Admission keeps at most maxLimit tasks in it; the queue only covers a worker that gave
+        // up its slot but hasn't returned to the pool yet
+        this.pool = new ThreadPoolExecutor(this.maxLimit, this.maxLimit, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            r -> new Thread(r, "optimize-" + threads.incrementAndGet()));
+        new ExecutorServiceMetrics(pool, "optimize", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("schedule.optimize.limit", this, bulkhead -> bulkhead.stats()[0])
+            .description("Current adaptive concurrency limit for optimizations").register(meterRegistry);
+        Gauge.builder("schedule.optimize.in-flight", this, bulkhead -> bulkhead.stats()[1])
+            .description("Optimizations running").register(meterRegistry);
+        Gauge.builder("schedule.optimize.queued", this, bulkhead -> bulkhead.stats()[2])
+            .description("Optimizations waiting for a slot").register(meterRegistry);
+        this.rejected = Counter.builder("schedule.optimize.rejected")
+            .description("Optimizations shed with 429 because the queue was full").register(meterRegistry);
+    }
+
+    /**
+     * Runs the optimization once a slot is free. Throws {@link Rejected} (answered with 429)
+     * when the queue is full; a run still queued after the timeout is never started and fails
+     * with a TimeoutException.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> optimization) {
+        Job<T> job = new Job<>(optimization, new CompletableFuture<>(),
+            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        synchronized (this) {
+            if (inFlight < (int) limit) {
+                inFlight++;
+            } else if (waiting.size() < queueDepth) {
+                waiting.addLast(job);
+                return job.result();
+            } else {
+                rejected.increment();
+                throw new Rejected(retryAfterSeconds());
+            }
+        }
+        start(job);
+        return job.result();
+    }
+
+    /** How long a caller should wait for a submitted run, queueing included. */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /** Seconds a client should wait before retrying a shed or timed-out run. */
+    public synchronized long retryAfterSeconds() {
+        // Time for the runs ahead of a new request to drain at the current limit
+        double millis = averageMillis * (waiting.size() + inFlight + 1) / limit;
+        return Math.max(1, Math.min(60, (long) Math.ceil(millis / 1000)));
+    }
+
+    private void start(Job<?> job) {
+        pool.execute(() -> {
+            Job<?> current = job;
+            while (current != null) {
+                run(current);
+                current = next();
+            }
+        });
+    }
+
+    // A finished run's slot goes to the oldest waiting one, unless the limit shrank meanwhile;
+    // if it grew, more waiting runs start
+    private Job<?> next() {
+        Job<?> job;
+        List<Job<?>> more = new ArrayList<>();
+        synchronized (this) {
+            if (inFlight > (int) limit || waiting.isEmpty()) {
+                inFlight--;
+                return null;
+            }
+            job = waiting.pollFirst();
+            while (inFlight < (int) limit && !waiting.isEmpty()) {
+                inFlight++;
+                more.add(waiting.pollFirst());
+            }
+        }
+        more.forEach(this::start);
+        return job;
+    }
+
+    private <T> void run(Job<T> job) {
+        if (System.nanoTime() > job.deadline()) {
+            job.result().completeExceptionally(new TimeoutException("Optimization waited too long for a slot"));
+            return;
+        }
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            T value = job.optimization().call();
+            failed = false;
+            job.result().complete(value);
+        } catch (IllegalArgumentException e) {
+            // Rejected input says nothing about load
+            failed = false;
+            job.result().completeExceptionally(e);
+        } catch (Throwable e) {
+            job.result().completeExceptionally(e);
+        } finally {
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), failed);
+        }
+    }
+
+    private synchronized void record(long millis, boolean failed) {
+        averageMillis = averageMillis * 0.8 + millis * 0.2;
+        double previous = limit;
+        if (failed || millis > latencyThresholdMillis) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        if ((int) previous != (int) limit) {
+            log.info("Optimization concurrency limit {} -> {} (last run {} ms{})",
+                (int) previous, (int) limit, millis, failed ? ", failed" : "");
+        }
+    }
+
+    private synchronized double[] stats() {
+        return new double[] {(int) limit, inFlight, waiting.size()};
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private record Job<T>(Callable<T> optimization, CompletableFuture<T> result, long deadline) {
+    }
+
+    /** A shed optimization; answered with 429 (see ReadRejectionHandler). */
+    public static class Rejected extends TaskRejectedException {
+
+        private final long retryAfterSeconds;
+
+        Rejected(long retryAfterSeconds) {
+            super("Optimization queue is full");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt (about 100 ms of CPU per call) on a small pool of its own, so a burst of logins
+ * uses at most that many cores and Tomcat threads waiting on it don't add CPU load. Once the
+ * short queue is full, or a hash isn't done within the timeout, callers get {@link Busy}
+ * (answered with 503) straight away instead of piling up.
+ */
+@Component
+public class PasswordHashing {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor pool;
+    private final Counter rejected;
+
+    public PasswordHashing(MeterRegistry meterRegistry,
+                           PasswordEncoder passwordEncoder,
+                           @Value("${scheduler.auth.bcrypt-strength:10}") int strength,
+                           @Value("${scheduler.auth.hashing.threads:0}") int threads,
+                           @Value("${scheduler.auth.hashing.queue-capacity:32}") int queueCapacity,
+                           @Value("${scheduler.auth.hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            r -> new Thread(r, "password-" + count.incrementAndGet()), new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(pool, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+            .description("Password hashes refused because the hashing pool was saturated").register(meterRegistry);
+    }
+
+    public String encode(CharSequence password) {
+        return await(() -> passwordEncoder.encode(password));
+    }
+
+    public boolean matches(CharSequence password, String hash) {
+        return await(() -> passwordEncoder.matches(password, hash));
+    }
+
+    /** Hashes without waiting, e.g. to upgrade a stored hash; fails with {@link Busy} when saturated. */
+    public CompletableFuture<String> encodeLater(CharSequence password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new Busy());
+        }
+    }
+
+    /** True when the hash was made with another work factor than the configured one. */
+    public boolean needsRehash(String hash) {
+        Matcher cost = BCRYPT_COST.matcher(hash);
+        return cost.find() && Integer.parseInt(cost.group(1)) != strength;
+    }
+
+    private <T> T await(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = pool.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new Busy();
+        }
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.increment();
+            throw new Busy();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new Busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /** A refused hash; answered with 503 (see ReadRejectionHandler). */
+    public static class Busy extends TaskRejectedException {
+
+        Busy() {
+            super("Password hashing is saturated");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.meetingscheduler.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "scheduler.datasource")
+public class ReadReplicaProperties {
+    
+    // Empty list = every query goes to the primary, exactly as before
+    private List<Replica> replicas = new ArrayList<>();
+    
+    // Replicas lagging further behind than this are taken out of rotation
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+    
+    // How long a user's reads stay on the primary after they wrote something
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+    
+    private long lagCheckIntervalMs = 5000;
+    
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 5;
+    }
+}
@@ -0,0 +1,62 @@
+package com.meetingscheduler.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary until
+ * the replicas have caught up (e.g. the schedules just produced by an optimization).
+ */
+@Component
+public class ReadYourWritesTracker {
+    
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+    
+    private final Map<UUID, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    
+    // Updated by ReplicaLagMonitor; a slow replica extends the pin beyond the configured window
+    private volatile long replicaLagMillis;
+    
+    public ReadYourWritesTracker(ReadReplicaProperties properties) {
+        this.windowMillis = properties.getReadYourWritesWindow().toMillis();
+    }
+    
+    public static void setCurrentUser(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+    
+    public static UUID getCurrentUser() {
+        return CURRENT_USER.get();
+    }
+    
+    public static void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+    
+    public void recordWrite(UUID userId) {
+        long until = System.currentTimeMillis() + Math.max(windowMillis, replicaLagMillis);
+        pinnedUntil.merge(userId, until, Math::max);
+    }
+    
+    public void setReplicaLagMillis(long replicaLagMillis) {
+        this.replicaLagMillis = replicaLagMillis;
+    }
+    
+    public boolean isCurrentUserPinned() {
+        UUID userId = CURRENT_USER.get();
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+    
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,41 @@
+package com.meetingscheduler.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    // Zero when the replica has replayed everything it received, so an idle primary doesn't look like lag
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ReadReplicaProperties properties;
+    
+    @Scheduled(fixedDelayString = "${scheduler.datasource.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        double maxLagSeconds = properties.getMaxReplicaLag().toMillis() / 1000.0;
+        
+        for (ReplicaRoutingDataSource.ReplicaPool replica : routingDataSource.getReplicas()) {
+            try {
+                Double lag = new JdbcTemplate(replica.getDataSource()).queryForObject(LAG_QUERY, Double.class);
+                double lagSeconds = lag != null ? lag : 0.0;
+                replica.update(lagSeconds <= maxLagSeconds, lagSeconds);
+            } catch (Exception e) {
+                log.debug("Lag check failed for {}: {}", replica.getName(), e.getMessage());
+                replica.update(false, replica.getLagSeconds());
+            }
+        }
+        
+        readYourWritesTracker.setReplicaLagMillis((long) (routingDataSource.maxHealthyReplicaLagSeconds() * 1000));
+        readYourWritesTracker.evictExpired();
+    }
+}
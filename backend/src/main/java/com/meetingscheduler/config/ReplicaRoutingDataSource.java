@@ -0,0 +1,156 @@
+package com.meetingscheduler.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy read replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the lookup happens once the
+ * transaction's read-only flag is known. Reads that must agree with the primary (e.g. a
+ * snapshot later compared against it) run inside {@link #onPrimary}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    public static final String PRIMARY = "primary";
+    
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+    
+    private final List<ReplicaPool> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    private final Counter primaryWrites;
+    private final Counter primaryPinnedReads;
+    private final Counter primaryFallbackReads;
+    private final Counter primaryForcedReads;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaPool> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.readYourWritesTracker = readYourWritesTracker;
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaPool replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), routingCounter(meterRegistry, replica.getName(), "read"));
+            Gauge.builder("datasource.replica.lag.seconds", replica, ReplicaPool::getLagSeconds)
+                .tag("pool", replica.getName())
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        primaryWrites = routingCounter(meterRegistry, PRIMARY, "write");
+        primaryPinnedReads = routingCounter(meterRegistry, PRIMARY, "read-your-writes");
+        primaryFallbackReads = routingCounter(meterRegistry, PRIMARY, "no-healthy-replica");
+        primaryForcedReads = routingCounter(meterRegistry, PRIMARY, "forced");
+    }
+    
+    /** Runs the action with every connection it opens on the primary, read-only or not. */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (FORCE_PRIMARY.get() != null) {
+            return action.get();
+        }
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            return PRIMARY;
+        }
+        if (FORCE_PRIMARY.get() != null) {
+            primaryForcedReads.increment();
+            return PRIMARY;
+        }
+        if (readYourWritesTracker.isCurrentUserPinned()) {
+            primaryPinnedReads.increment();
+            return PRIMARY;
+        }
+        
+        // Round-robin over replicas, skipping those that are lagging or unreachable
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaPool replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                replicaReads.get(replica.getName()).increment();
+                return replica.getName();
+            }
+        }
+        primaryFallbackReads.increment();
+        return PRIMARY;
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        for (ReplicaPool replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+    
+    public double maxHealthyReplicaLagSeconds() {
+        return replicas.stream()
+            .filter(ReplicaPool::isHealthy)
+            .mapToDouble(ReplicaPool::getLagSeconds)
+            .max()
+            .orElse(0.0);
+    }
+    
+    private static Counter routingCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("datasource.routing.decisions")
+            .tag("pool", pool)
+            .tag("reason", reason)
+            .description("Connections handed out per target pool")
+            .register(meterRegistry);
+    }
+    
+    @Getter
+    public static class ReplicaPool {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+        
+        public ReplicaPool(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        void update(boolean healthy, double lagSeconds) {
+            if (this.healthy != healthy) {
+                log.warn("Read replica {} is now {} (lag {}s)", name, healthy ? "healthy" : "out of rotation", lagSeconds);
+            }
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.meetingscheduler.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Exposes the {userId} path variable to the routing data source and pins that
+ * user to the primary after a successful write request.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+    
+    private final ReadYourWritesTracker readYourWritesTracker;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UUID userId = userIdOf(request);
+        if (userId != null) {
+            ReadYourWritesTracker.setCurrentUser(userId);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesTracker.clearCurrentUser();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            UUID userId = ReadYourWritesTracker.getCurrentUser();
+            boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+            if (userId != null && write && ex == null && response.getStatus() < 400) {
+                readYourWritesTracker.recordWrite(userId);
+            }
+        } finally {
+            ReadYourWritesTracker.clearCurrentUser();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static UUID userIdOf(HttpServletRequest request) {
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("userId") == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(variables.get("userId"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.meetingscheduler.config;
 
+import com.meetingscheduler.entity.User;
+import com.meetingscheduler.service.JwtService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -9,6 +14,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,17 +26,41 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
     
+    // Off until clients send the token; URLs still carry the user id either way
+    @Value("${scheduler.security.require-auth:false}")
+    private boolean requireAuth;
+    
+    // Raising (or lowering) it rehashes each password at its next login, see AuthService
+    @Value("${scheduler.auth.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwtService) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, requireAuth), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+        
+        if (requireAuth) {
+            http.authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Roles come from the token (see JwtAuthenticationFilter), as ROLE_<role>
+                .requestMatchers("/api/admin/**").hasRole(User.UserRole.admin.name())
+                .anyRequest().authenticated()
+            );
+            return http.build();
+        }
+        
+        http
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/meetings/**").permitAll() // For development - add authentication later
@@ -37,6 +68,12 @@ public class SecurityConfig {
                 .requestMatchers("/api/availability/**").permitAll() // For development - add authentication later
                 .requestMatchers("/api/notifications/**").permitAll() // For development - add authentication later
                 .requestMatchers("/api/executives/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/stream/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/sync/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/dashboard/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/secretary/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/calendar-integrations/**").permitAll() // For development - add authentication later
+                .requestMatchers("/api/users/**").permitAll() // For development - add authentication later
                 .requestMatchers("/actuator/**").permitAll()
                 .anyRequest().permitAll() // Allow all for development
             );
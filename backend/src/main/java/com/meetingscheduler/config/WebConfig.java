@@ -0,0 +1,32 @@
+package com.meetingscheduler.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final ReplicaRoutingInterceptor replicaRoutingInterceptor;
+    private final AsyncStreams asyncStreams;
+    
+    @Value("${scheduler.streaming.timeout-ms:300000}")
+    private long streamingTimeoutMillis;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(replicaRoutingInterceptor).addPathPatterns("/api/**");
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streamed bodies get their own bounded pool instead of Boot's unbounded default executor
+        configurer.setTaskExecutor(asyncStreams.executor());
+        // WebAsyncTask and SseEmitter set their own timeouts; this one covers streamed bodies
+        configurer.setDefaultTimeout(streamingTimeoutMillis);
+    }
+}
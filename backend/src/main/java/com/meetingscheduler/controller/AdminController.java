@@ -1,10 +1,13 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.JsonStreams;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 import java.util.UUID;
@@ -17,14 +20,16 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
     
+    @Autowired
+    private JsonStreams jsonStreams;
+    
     // Get all users
     @GetMapping("/users")
-    public ResponseEntity<?> getAllUsers() {
-        try {
-            return ResponseEntity.ok(adminService.getAllUsers());
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        // Streamed row by row; errors surface mid-body, so there is no error response to build here
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonStreams.array(adminService::getUsersAfter));
     }
     
     // Update user role
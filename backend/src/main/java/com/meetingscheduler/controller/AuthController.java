@@ -1,12 +1,15 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.PasswordHashing;
 import com.meetingscheduler.dto.LoginRequest;
 import com.meetingscheduler.dto.RegisterRequest;
 import com.meetingscheduler.dto.AuthResponse;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.service.AuthService;
+import com.meetingscheduler.service.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +24,7 @@ import java.util.Optional;
 public class AuthController {
     
     private final AuthService authService;
+    private final JwtService jwtService;
     
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
@@ -36,11 +40,16 @@ public class AuthController {
                 response.setFullName(user.get().getFullName());
                 response.setRole(user.get().getRole());
                 response.setMessage("Login successful");
+                JwtService.Token token = jwtService.issue(user.get());
+                response.setToken(token.value());
+                response.setExpiresAt(token.expiresAt());
                 
                 return ResponseEntity.ok(response);
             } else {
                 return ResponseEntity.badRequest().body("Invalid credentials");
             }
+        } catch (PasswordHashing.Busy e) {
+            throw e; // 503 with Retry-After, see ReadRejectionHandler
         } catch (Exception e) {
             log.error("Login error: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Login failed: " + e.getMessage());
@@ -54,6 +63,11 @@ public class AuthController {
         try {
             // Parse role to lowercase to match enum
             User.UserRole userRole = User.UserRole.valueOf(registerRequest.getRole().toLowerCase());
+            // Admins are made by an existing admin (PUT /api/admin/users/{id}/role), never by signing up
+            if (userRole == User.UserRole.admin) {
+                log.warn("Refused self-registration as admin for email: {}", registerRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin accounts cannot be self-registered");
+            }
             
             User savedUser = authService.register(
                 registerRequest.getEmail(),
@@ -68,8 +82,13 @@ public class AuthController {
             response.setFullName(savedUser.getFullName());
             response.setRole(savedUser.getRole());
             response.setMessage("Registration successful");
+            JwtService.Token token = jwtService.issue(savedUser);
+            response.setToken(token.value());
+            response.setExpiresAt(token.expiresAt());
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashing.Busy e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             log.error("Registration error: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -1,15 +1,26 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.AsyncReads;
 import com.meetingscheduler.dto.CreateAvailabilityRequest;
+import com.meetingscheduler.dto.ImportResult;
 import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.ResourceVersion;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.service.AvailabilityService;
+import com.meetingscheduler.service.BulkImportService;
+import com.meetingscheduler.service.ImportFormat;
+import com.meetingscheduler.service.ResourceVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,12 +32,23 @@ import java.util.UUID;
 public class AvailabilityController {
     
     private final AvailabilityService availabilityService;
+    private final AsyncReads asyncReads;
+    private final ResourceVersionService resourceVersions;
+    private final BulkImportService bulkImportService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Availability>> getAvailabilityByUser(@PathVariable UUID userId) {
+    public WebAsyncTask<ResponseEntity<?>> getAvailabilityByUser(@PathVariable UUID userId, WebRequest request) {
         log.info("Fetching availability for user ID: {}", userId);
-        List<Availability> availabilities = availabilityService.getAvailabilityByUser(userId);
-        return ResponseEntity.ok(availabilities);
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.AVAILABILITY);
+        String etag = stamp.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return asyncReads.submit(() -> {
+            List<Availability> availabilities = resourceVersions.readAtLeast(stamp,
+                () -> availabilityService.getAvailabilityByUser(userId));
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(availabilities);
+        });
     }
     
     @PostMapping("/user/{userId}")
@@ -68,5 +90,25 @@ public class AvailabilityController {
             return ResponseEntity.internalServerError().body("Failed to delete availability: " + e.getMessage());
         }
     }
+    
+    /**
+     * Bulk import from a CSV (with header), NDJSON or iCalendar body, chosen by Content-Type.
+     * Endpoint: POST /api/availability/import/user/{userId}
+     */
+    @PostMapping("/import/user/{userId}")
+    public ResponseEntity<?> importAvailability(@PathVariable UUID userId,
+                                                @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                InputStream body) {
+        log.info("Importing availability for user ID: {}", userId);
+        
+        try {
+            ImportResult result = bulkImportService.importAvailability(userId, ImportFormat.of(contentType), body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error importing availability: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to import availability: " + e.getMessage());
+        }
+    }
 }
-
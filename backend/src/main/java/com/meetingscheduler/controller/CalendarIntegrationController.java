@@ -0,0 +1,88 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.dto.CreateCalendarIntegrationRequest;
+import com.meetingscheduler.entity.CalendarIntegration;
+import com.meetingscheduler.entity.ExternalBusySlot;
+import com.meetingscheduler.service.CalendarIntegrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Connects external calendars. Syncing itself runs in the background (CalendarSyncService);
+ * an integration's lastSyncedAt, failureCount and lastError show how it is going.
+ */
+@RestController
+@RequestMapping("/api/calendar-integrations")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class CalendarIntegrationController {
+    
+    private final CalendarIntegrationService calendarIntegrationService;
+    
+    @PostMapping("/user/{userId}")
+    public ResponseEntity<?> createIntegration(@PathVariable UUID userId,
+                                               @Valid @RequestBody CreateCalendarIntegrationRequest request) {
+        log.info("Creating calendar integration for user ID: {}", userId);
+        
+        try {
+            CalendarIntegration integration = calendarIntegrationService.createIntegration(userId, request);
+            return ResponseEntity.ok(integration);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error creating calendar integration: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to create calendar integration: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> getIntegrationsByUser(@PathVariable UUID userId) {
+        log.info("Fetching calendar integrations for user ID: {}", userId);
+        List<CalendarIntegration> integrations = calendarIntegrationService.getIntegrationsByUser(userId);
+        return ResponseEntity.ok(integrations);
+    }
+    
+    /** Upcoming busy times pulled from the user's calendars, as the optimizer sees them. */
+    @GetMapping("/user/{userId}/busy")
+    public ResponseEntity<?> getBusySlotsByUser(@PathVariable UUID userId) {
+        log.info("Fetching external busy slots for user ID: {}", userId);
+        List<ExternalBusySlot> busySlots = calendarIntegrationService.getBusySlotsByUser(userId);
+        return ResponseEntity.ok(busySlots);
+    }
+    
+    @PostMapping("/{integrationId}/sync/user/{userId}")
+    public ResponseEntity<?> requestSync(@PathVariable UUID integrationId, @PathVariable UUID userId) {
+        log.info("Sync requested for calendar integration {} by user ID: {}", integrationId, userId);
+        
+        try {
+            return ResponseEntity.accepted().body(calendarIntegrationService.requestSync(integrationId, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error requesting calendar sync: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to request calendar sync: " + e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{integrationId}/user/{userId}")
+    public ResponseEntity<?> deleteIntegration(@PathVariable UUID integrationId, @PathVariable UUID userId) {
+        log.info("Deleting calendar integration {} for user ID: {}", integrationId, userId);
+        
+        try {
+            calendarIntegrationService.deleteIntegration(integrationId, userId);
+            return ResponseEntity.ok("Calendar integration deleted successfully");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error deleting calendar integration: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to delete calendar integration: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    /**
+     * Meetings, pending meetings, schedules, availability, notifications and the unread count in one call.
+     * Endpoint: GET /api/dashboard/user/{userId}
+     */
+    @GetMapping("/user/{userId}")
+    public CompletableFuture<ResponseEntity<?>> getDashboard(@PathVariable UUID userId) {
+        log.info("Fetching dashboard for user ID: {}", userId);
+        // The parts load on the read pool; the Tomcat worker is released while they run
+        return dashboardService.getDashboard(userId).thenApply(ResponseEntity::ok);
+    }
+}
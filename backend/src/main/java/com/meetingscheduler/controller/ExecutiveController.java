@@ -1,10 +1,14 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.JsonStreams;
+import com.meetingscheduler.entity.Assists;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -17,6 +21,9 @@ public class ExecutiveController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JsonStreams jsonStreams;
+
     // Get all executives (for secretaries and admins)
     @GetMapping
     public ResponseEntity<List<User>> getAllExecutives() {
@@ -30,13 +37,10 @@ public class ExecutiveController {
 
     // Get all users (for meeting participants)
     @GetMapping("/all")
-    public ResponseEntity<List<User>> getAllUsers() {
-        try {
-            List<User> users = authService.getAllUsers();
-            return ResponseEntity.ok(users);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonStreams.array(authService::getUsersAfter));
     }
 
     // Get executives by secretary (for secretaries to see their assigned executives)
@@ -54,12 +58,26 @@ public class ExecutiveController {
     @PostMapping("/{executiveId}/assign-secretary/{secretaryId}")
     public ResponseEntity<String> assignSecretaryToExecutive(
             @PathVariable UUID executiveId, 
-            @PathVariable UUID secretaryId) {
+            @PathVariable UUID secretaryId,
+            @RequestParam(defaultValue = "FULL_ACCESS") Assists.Permissions permissions) {
         try {
-            authService.assignSecretaryToExecutive(executiveId, secretaryId);
+            authService.assignSecretaryToExecutive(executiveId, secretaryId, permissions);
             return ResponseEntity.ok("Secretary assigned successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to assign secretary: " + e.getMessage());
         }
     }
+
+    // Remove a secretary from an executive (for admins)
+    @DeleteMapping("/{executiveId}/assign-secretary/{secretaryId}")
+    public ResponseEntity<String> unassignSecretaryFromExecutive(
+            @PathVariable UUID executiveId,
+            @PathVariable UUID secretaryId) {
+        try {
+            authService.unassignSecretaryFromExecutive(executiveId, secretaryId);
+            return ResponseEntity.ok("Secretary unassigned successfully");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to unassign secretary: " + e.getMessage());
+        }
+    }
 }
@@ -1,17 +1,32 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.JsonStreams;
+import com.meetingscheduler.dto.CompactPayload;
+import com.meetingscheduler.dto.BulkIdsRequest;
 import com.meetingscheduler.dto.CreateMeetingRequest;
 import com.meetingscheduler.dto.CreateMeetingWithParticipantsRequest;
+import com.meetingscheduler.dto.ImportResult;
 import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.ResourceVersion;
 import com.meetingscheduler.entity.User;
+import com.meetingscheduler.service.BulkImportService;
+import com.meetingscheduler.service.ImportFormat;
 import com.meetingscheduler.service.MeetingService;
+import com.meetingscheduler.service.ResourceVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -22,19 +37,60 @@ import java.util.UUID;
 public class MeetingController {
     
     private final MeetingService meetingService;
+    private final ResourceVersionService resourceVersions;
+    private final JsonStreams jsonStreams;
+    private final BulkImportService bulkImportService;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Meeting>> getMeetingsByUser(@PathVariable UUID userId) {
+    public ResponseEntity<StreamingResponseBody> getMeetingsByUser(@PathVariable UUID userId, WebRequest request) {
         log.info("Fetching meetings for user ID: {}", userId);
-        List<Meeting> meetings = meetingService.getMeetingsByUser(userId);
-        return ResponseEntity.ok(meetings);
+        // Read before the data, so a write racing this request can only leave the tag older than the body
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.MEETINGS);
+        if (request.checkNotModified(stamp.etag())) {
+            return null;
+        }
+        // No eTag() here: checkNotModified already set the header, and streamed bodies would send it twice
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonStreams.array((Meeting after, int limit) -> meetingService.getMeetingsByUserAfter(userId, after, limit),
+                 () -> resourceVersions.reached(stamp)));
     }
     
     @GetMapping("/pending/user/{userId}")
-    public ResponseEntity<List<Meeting>> getPendingMeetings(@PathVariable UUID userId) {
+    public ResponseEntity<StreamingResponseBody> getPendingMeetings(@PathVariable UUID userId, WebRequest request) {
         log.info("Fetching pending meetings for user ID: {}", userId);
-        List<Meeting> meetings = meetingService.getPendingMeetings(userId);
-        return ResponseEntity.ok(meetings);
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.MEETINGS);
+        if (request.checkNotModified(stamp.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonStreams.array((Meeting after, int limit) -> meetingService.getPendingMeetingsAfter(userId, after, limit),
+                 () -> resourceVersions.reached(stamp)));
+    }
+    
+    @GetMapping(value = "/user/{userId}", produces = CompactPayload.MEDIA_TYPE)
+    public ResponseEntity<CompactPayload> getMeetingsByUserCompact(@PathVariable UUID userId, WebRequest request) {
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.MEETINGS);
+        String etag = stamp.etag("cbor");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CompactPayload payload = resourceVersions.readAtLeast(stamp,
+            () -> CompactPayload.ofMeetings(meetingService.getMeetingsByUser(userId)));
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(payload);
+    }
+    
+    @GetMapping(value = "/pending/user/{userId}", produces = CompactPayload.MEDIA_TYPE)
+    public ResponseEntity<CompactPayload> getPendingMeetingsCompact(@PathVariable UUID userId, WebRequest request) {
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.MEETINGS);
+        String etag = stamp.etag("cbor");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CompactPayload payload = resourceVersions.readAtLeast(stamp,
+            () -> CompactPayload.ofMeetings(meetingService.getPendingMeetings(userId)));
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(payload);
     }
     
     @PostMapping("/user/{userId}")
@@ -124,6 +180,42 @@ public class MeetingController {
         }
     }
     
+    /**
+     * Mark several open meetings as completed in one statement
+     * Endpoint: POST /api/meetings/bulk-complete/user/{userId}
+     */
+    @PostMapping("/bulk-complete/user/{userId}")
+    public ResponseEntity<?> bulkCompleteMeetings(@PathVariable UUID userId,
+                                                  @Valid @RequestBody BulkIdsRequest request) {
+        log.info("Bulk completing {} meetings for user ID: {}", request.getIds().size(), userId);
+        
+        try {
+            int affected = meetingService.bulkCompleteMeetings(request.getIds(), userId);
+            return ResponseEntity.ok(Map.of("message", "Meetings marked as completed", "affected", affected));
+        } catch (Exception e) {
+            log.error("Error bulk completing meetings: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to complete meetings: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Cancel several open meetings in one statement
+     * Endpoint: POST /api/meetings/bulk-cancel/user/{userId}
+     */
+    @PostMapping("/bulk-cancel/user/{userId}")
+    public ResponseEntity<?> bulkCancelMeetings(@PathVariable UUID userId,
+                                                @Valid @RequestBody BulkIdsRequest request) {
+        log.info("Bulk cancelling {} meetings for user ID: {}", request.getIds().size(), userId);
+        
+        try {
+            int affected = meetingService.bulkCancelMeetings(request.getIds(), userId);
+            return ResponseEntity.ok(Map.of("message", "Meetings cancelled", "affected", affected));
+        } catch (Exception e) {
+            log.error("Error bulk cancelling meetings: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to cancel meetings: " + e.getMessage());
+        }
+    }
+    
     /**
      * ✨ NEW: Create meeting with participants
      * Endpoint: POST /api/meetings/with-participants/user/{userId}
@@ -154,4 +246,25 @@ public class MeetingController {
             return ResponseEntity.internalServerError().body("Failed to create meeting: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Bulk import from a CSV (with header), NDJSON or iCalendar body, chosen by Content-Type.
+     * Endpoint: POST /api/meetings/import/user/{userId}
+     */
+    @PostMapping("/import/user/{userId}")
+    public ResponseEntity<?> importMeetings(@PathVariable UUID userId,
+                                            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                            InputStream body) {
+        log.info("Importing meetings for user ID: {}", userId);
+        
+        try {
+            ImportResult result = bulkImportService.importMeetings(userId, ImportFormat.of(contentType), body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error importing meetings: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to import meetings: " + e.getMessage());
+        }
+    }
+}
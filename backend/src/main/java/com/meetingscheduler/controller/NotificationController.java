@@ -1,13 +1,18 @@
 package com.meetingscheduler.controller;
 
+import com.meetingscheduler.config.AsyncReads;
+import com.meetingscheduler.dto.BulkIdsRequest;
 import com.meetingscheduler.entity.Notification;
 import com.meetingscheduler.service.NotificationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -18,19 +23,24 @@ import java.util.UUID;
 public class NotificationController {
     
     private final NotificationService notificationService;
+    private final AsyncReads asyncReads;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Notification>> getNotificationsByUser(@PathVariable UUID userId) {
+    public WebAsyncTask<ResponseEntity<?>> getNotificationsByUser(@PathVariable UUID userId) {
         log.info("Fetching notifications for user ID: {}", userId);
-        List<Notification> notifications = notificationService.getNotificationsByUser(userId);
-        return ResponseEntity.ok(notifications);
+        return asyncReads.submit(() -> {
+            List<Notification> notifications = notificationService.getNotificationsByUser(userId);
+            return ResponseEntity.ok(notifications);
+        });
     }
     
     @GetMapping("/unread/user/{userId}")
-    public ResponseEntity<List<Notification>> getUnreadNotifications(@PathVariable UUID userId) {
+    public WebAsyncTask<ResponseEntity<?>> getUnreadNotifications(@PathVariable UUID userId) {
         log.info("Fetching unread notifications for user ID: {}", userId);
-        List<Notification> notifications = notificationService.getUnreadNotifications(userId);
-        return ResponseEntity.ok(notifications);
+        return asyncReads.submit(() -> {
+            List<Notification> notifications = notificationService.getUnreadNotifications(userId);
+            return ResponseEntity.ok(notifications);
+        });
     }
     
     @GetMapping("/count/unread/user/{userId}")
@@ -61,12 +71,40 @@ public class NotificationController {
         log.info("Marking all notifications as read for user ID: {}", userId);
         
         try {
-            notificationService.markAllAsRead(userId);
-            return ResponseEntity.ok("All notifications marked as read");
+            int affected = notificationService.markAllAsRead(userId);
+            return ResponseEntity.ok(Map.of("message", "All notifications marked as read", "affected", affected));
         } catch (Exception e) {
             log.error("Error marking all notifications as read: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Failed to mark all notifications as read: " + e.getMessage());
         }
     }
+    
+    @PostMapping("/mark-read/user/{userId}")
+    public ResponseEntity<?> markAsRead(@PathVariable UUID userId,
+                                        @Valid @RequestBody BulkIdsRequest request) {
+        log.info("Marking {} notifications as read for user: {}", request.getIds().size(), userId);
+        
+        try {
+            int affected = notificationService.markAsRead(request.getIds(), userId);
+            return ResponseEntity.ok(Map.of("message", "Notifications marked as read", "affected", affected));
+        } catch (Exception e) {
+            log.error("Error marking notifications as read: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to mark notifications as read: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/bulk-delete/user/{userId}")
+    public ResponseEntity<?> deleteNotifications(@PathVariable UUID userId,
+                                                 @Valid @RequestBody BulkIdsRequest request) {
+        log.info("Deleting {} notifications for user: {}", request.getIds().size(), userId);
+        
+        try {
+            int affected = notificationService.deleteNotifications(request.getIds(), userId);
+            return ResponseEntity.ok(Map.of("message", "Notifications deleted", "affected", affected));
+        } catch (Exception e) {
+            log.error("Error deleting notifications: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Failed to delete notifications: " + e.getMessage());
+        }
+    }
 }
 
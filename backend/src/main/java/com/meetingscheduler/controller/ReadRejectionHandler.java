@@ -0,0 +1,44 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.config.OptimizationBulkhead;
+import com.meetingscheduler.config.PasswordHashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns a full read or streaming queue (see AsyncReads, AsyncStreams) into a fast 503 the
+ * client can retry, rather than a 500, and a shed optimization (see OptimizationBulkhead) into
+ * a 429. A saturated password hashing pool (see PasswordHashing) is a 503 too.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReadRejectionHandler {
+    
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleRejectedRead(TaskRejectedException e) {
+        log.warn("Read rejected, queue is full: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body("Server is busy, please retry");
+    }
+    
+    @ExceptionHandler(PasswordHashing.Busy.class)
+    public ResponseEntity<String> handleBusyHashing(PasswordHashing.Busy e) {
+        log.warn("Login or registration rejected, password hashing is saturated");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body("Server is busy, please retry");
+    }
+    
+    @ExceptionHandler(OptimizationBulkhead.Rejected.class)
+    public ResponseEntity<String> handleRejectedOptimization(OptimizationBulkhead.Rejected e) {
+        log.warn("Optimization shed, queue is full");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+            .body("Too many optimizations in progress, please retry");
+    }
+}
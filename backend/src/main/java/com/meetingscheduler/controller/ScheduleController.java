@@ -1,15 +1,35 @@
 package com.meetingscheduler.controller;
 
 import com.meetingscheduler.algorithm.ScheduleOptimizer;
+import com.meetingscheduler.config.AsyncReads;
+import com.meetingscheduler.config.JsonStreams;
+import com.meetingscheduler.config.OptimizationBulkhead;
+import com.meetingscheduler.config.ConditionalStreams;
+import com.meetingscheduler.dto.CompactPayload;
+import com.meetingscheduler.entity.ResourceVersion;
 import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.service.ResourceVersionService;
+import com.meetingscheduler.service.ScheduleCalendarService;
+import com.meetingscheduler.service.OptimizationRequestService;
 import com.meetingscheduler.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/schedules")
@@ -18,28 +38,119 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class ScheduleController {
     
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
     private final ScheduleService scheduleService;
+    private final AsyncReads asyncReads;
+    private final ResourceVersionService resourceVersions;
+    private final JsonStreams jsonStreams;
+    private final ScheduleCalendarService calendarService;
+    private final ConditionalStreams conditionalStreams;
+    private final OptimizationBulkhead optimizationBulkhead;
+    private final OptimizationRequestService optimizationRequests;
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Schedule>> getSchedulesByUser(@PathVariable UUID userId) {
+    public ResponseEntity<StreamingResponseBody> getSchedulesByUser(@PathVariable UUID userId, WebRequest request) {
         log.info("Fetching schedules for user ID: {}", userId);
-        List<Schedule> schedules = scheduleService.getSchedulesByUser(userId);
-        return ResponseEntity.ok(schedules);
+        // Answered on the request thread: a 304 never queues for a stream thread
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.SCHEDULES);
+        if (request.checkNotModified(stamp.etag())) {
+            return null;
+        }
+        // The body is written on the streaming pool
+        // No eTag() here: checkNotModified already set the header, and streamed bodies would send it twice
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonStreams.array((Schedule after, int limit) -> scheduleService.getSchedulesByUserAfter(userId, after, limit),
+                 () -> resourceVersions.reached(stamp)));
+    }
+    
+    @GetMapping(value = "/user/{userId}", produces = CompactPayload.MEDIA_TYPE)
+    public WebAsyncTask<ResponseEntity<?>> getSchedulesByUserCompact(@PathVariable UUID userId, WebRequest request) {
+        ResourceVersionService.Stamp stamp = resourceVersions.stamp(userId, ResourceVersion.Resource.SCHEDULES);
+        String etag = stamp.etag("cbor");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return asyncReads.submit(() -> {
+            CompactPayload payload = resourceVersions.readAtLeast(stamp,
+                () -> CompactPayload.ofSchedules(scheduleService.getSchedulesByUser(userId)));
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(payload);
+        });
     }
     
+    /**
+     * The user's schedules as an iCalendar feed, streamed from the database.
+     * Supports If-None-Match and If-Modified-Since.
+     * Endpoint: GET /api/schedules/user/{userId}/calendar.ics
+     */
+    @GetMapping("/user/{userId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(@PathVariable UUID userId, WebRequest request) {
+        log.info("Exporting calendar for user ID: {}", userId);
+        try {
+            ScheduleCalendarService.Feed feed = calendarService.forUser(userId);
+            return conditionalStreams.respond(request, feed.etag(), feed.lastModified(),
+                MediaType.parseMediaType(ScheduleCalendarService.MEDIA_TYPE), out -> calendarService.write(feed, out));
+        } catch (IllegalArgumentException e) {
+            return ConditionalStreams.badRequest(e.getMessage());
+        }
+    }
+    
+    /**
+     * Runs on the optimization bulkhead; answered with 429 + Retry-After when it is saturated.
+     * Concurrent calls for the same user share one run, and a retry carrying the same
+     * Idempotency-Key gets the stored result back (marked Idempotent-Replayed).
+     */
     @PostMapping("/optimize/user/{userId}")
-    public ResponseEntity<?> optimizeSchedule(@PathVariable UUID userId) {
+    public CompletableFuture<ResponseEntity<?>> optimizeSchedule(@PathVariable UUID userId,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Optimizing schedule for user ID: {}", userId);
-        
+        return optimize(userId, idempotencyKey, result -> result);
+    }
+    
+    @PostMapping(value = "/optimize/user/{userId}", produces = CompactPayload.MEDIA_TYPE)
+    public CompletableFuture<ResponseEntity<?>> optimizeScheduleCompact(@PathVariable UUID userId,
+                                                                        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("Optimizing schedule for user ID: {} (compact)", userId);
+        return optimize(userId, idempotencyKey, CompactPayload::ofOptimization).thenApply(response ->
+            // Error messages stay plain text
+            response.getStatusCode().is2xxSuccessful() ? response
+                : ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders())
+                    .contentType(MediaType.TEXT_PLAIN).body(response.getBody()));
+    }
+    
+    private CompletableFuture<ResponseEntity<?>> optimize(UUID userId, String idempotencyKey,
+                                                          Function<ScheduleOptimizer.OptimizedScheduleResult, Object> body) {
         try {
-            ScheduleOptimizer.OptimizedScheduleResult result = scheduleService.optimizeSchedule(userId);
-            return ResponseEntity.ok(result);
+            return optimizationRequests.optimize(userId, idempotencyKey).handle((outcome, error) -> {
+                if (error == null) {
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    if (outcome.replayed()) {
+                        ok.header("Idempotent-Replayed", "true");
+                    }
+                    return ok.body(body.apply(outcome.result()));
+                }
+                return optimizationFailed(error instanceof CompletionException ? error.getCause() : error);
+            });
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (Exception e) {
-            log.error("Error optimizing schedule: {}", e.getMessage());
-            return ResponseEntity.internalServerError().body("Failed to optimize schedule: " + e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+    }
+    
+    private ResponseEntity<?> optimizationFailed(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(error.getMessage());
+        }
+        if (error instanceof IllegalStateException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error.getMessage());
+        }
+        if (error instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(optimizationBulkhead.retryAfterSeconds()))
+                .body("Optimization timed out, please retry");
         }
+        log.error("Error optimizing schedule: {}", error.getMessage());
+        return ResponseEntity.internalServerError().body("Failed to optimize schedule: " + error.getMessage());
     }
     
     @PostMapping("/custom/user/{userId}")
@@ -0,0 +1,69 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.config.AsyncReads;
+import com.meetingscheduler.config.ConditionalStreams;
+import com.meetingscheduler.dto.SecretaryOverview;
+import com.meetingscheduler.service.ScheduleCalendarService;
+import com.meetingscheduler.service.SecretaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/secretary")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SecretaryController {
+    
+    private final SecretaryService secretaryService;
+    private final AsyncReads asyncReads;
+    private final ScheduleCalendarService calendarService;
+    private final ConditionalStreams conditionalStreams;
+    
+    /**
+     * Meetings and schedules of every executive the secretary is assigned to, in one call.
+     * With executiveId, just that executive (403 if not assigned).
+     * Endpoint: GET /api/secretary/{secretaryId}/overview?executiveId={executiveId}
+     */
+    @GetMapping("/{secretaryId}/overview")
+    public WebAsyncTask<ResponseEntity<?>> getOverview(@PathVariable UUID secretaryId,
+                                                       @RequestParam(required = false) UUID executiveId) {
+        log.info("Fetching overview for secretary ID: {}", secretaryId);
+        return asyncReads.submit(() -> {
+            try {
+                SecretaryOverview overview = secretaryService.getOverview(secretaryId, executiveId);
+                return ResponseEntity.ok(overview);
+            } catch (AccessDeniedException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Schedules of every executive the secretary is assigned to as one iCalendar feed, each
+     * title followed by the executive's name. Same conditional GET support as
+     * GET /api/schedules/user/{userId}/calendar.ics.
+     * Endpoint: GET /api/secretary/{secretaryId}/calendar.ics
+     */
+    @GetMapping("/{secretaryId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(@PathVariable UUID secretaryId, WebRequest request) {
+        log.info("Exporting executives' calendar for secretary ID: {}", secretaryId);
+        try {
+            ScheduleCalendarService.Feed feed = calendarService.forSecretary(secretaryId);
+            return conditionalStreams.respond(request, feed.etag(), feed.lastModified(),
+                MediaType.parseMediaType(ScheduleCalendarService.MEDIA_TYPE), out -> calendarService.write(feed, out));
+        } catch (IllegalArgumentException e) {
+            return ConditionalStreams.badRequest(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.service.PushService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class StreamController {
+    
+    private final PushService pushService;
+    
+    /**
+     * Server-sent events for one user: "notification", "meeting" and "schedule" events,
+     * plus "ready" on connect and "resync" when missed events can't be replayed.
+     * Endpoint: GET /api/stream/user/{userId}
+     */
+    @GetMapping(value = "/user/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable UUID userId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                HttpServletResponse response) {
+        log.debug("Opening event stream for user ID: {} (last event {})", userId, lastEventId);
+        // Stops nginx-style proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return pushService.subscribe(userId, lastEventId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.config.AsyncReads;
+import com.meetingscheduler.dto.SyncResponse;
+import com.meetingscheduler.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SyncController {
+    
+    private final SyncService syncService;
+    private final AsyncReads asyncReads;
+    
+    /**
+     * Meetings, schedules and availability changed since the cursor; without one, the full state.
+     * Endpoint: GET /api/sync/user/{userId}?since={cursor}
+     */
+    @GetMapping("/user/{userId}")
+    public WebAsyncTask<ResponseEntity<?>> sync(@PathVariable UUID userId,
+                                                @RequestParam(required = false) String since) {
+        log.info("Syncing user ID: {} since {}", userId, since);
+        return asyncReads.submit(() -> {
+            try {
+                SyncResponse response = syncService.sync(userId, since);
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.meetingscheduler.controller;
+
+import com.meetingscheduler.service.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class UserController {
+    
+    private static final int MAX_LIMIT = 50;
+    
+    private final UserSearchIndex userSearchIndex;
+    
+    // Participant picker: users whose name, a word of it, or email starts with q; served from memory
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchIndex.Entry>> search(@RequestParam(defaultValue = "") String q,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userSearchIndex.search(q, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
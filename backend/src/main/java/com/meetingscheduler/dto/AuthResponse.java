@@ -3,6 +3,7 @@ package com.meetingscheduler.dto;
 import com.meetingscheduler.entity.User;
 import lombok.Data;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
@@ -13,4 +14,7 @@ public class AuthResponse {
     private String fullName;
     private User.UserRole role;
     private String message;
+    // Bearer token for the Authorization header, and when it stops being accepted
+    private String token;
+    private Instant expiresAt;
 }
\ No newline at end of file
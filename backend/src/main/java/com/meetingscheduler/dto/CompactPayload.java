@@ -0,0 +1,129 @@
+package com.meetingscheduler.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.meetingscheduler.algorithm.ScheduleOptimizer;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.entity.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact form of the meeting, schedule and optimization responses, served as application/cbor.
+ * Every user and meeting is written once and referenced by its index in {@code users} /
+ * {@code meetings}; rows are positional arrays (field order below) rather than keyed objects;
+ * times are whole minutes since 1970-01-01T00:00 on the same wall clock as the JSON form.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CompactPayload {
+    
+    public static final String MEDIA_TYPE = "application/cbor";
+    
+    private List<UserRow> users = new ArrayList<>();
+    private List<MeetingRow> meetings = new ArrayList<>();
+    private List<ScheduleRow> schedules = new ArrayList<>();
+    private List<ScheduledMeetingRow> scheduledMeetings = new ArrayList<>();
+    private Double optimizationScore;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, Integer> userRefs = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, Integer> meetingRefs = new HashMap<>();
+    
+    public static CompactPayload ofMeetings(List<Meeting> meetings) {
+        CompactPayload payload = new CompactPayload();
+        meetings.forEach(payload::meetingRef);
+        return payload;
+    }
+    
+    public static CompactPayload ofSchedules(List<Schedule> schedules) {
+        CompactPayload payload = new CompactPayload();
+        for (Schedule schedule : schedules) {
+            payload.schedules.add(new ScheduleRow(schedule.getId(), payload.meetingRef(schedule.getMeeting()),
+                    minutes(schedule.getScheduledStart()), minutes(schedule.getScheduledEnd()),
+                    schedule.getOptimizationScore(), minutes(schedule.getCreatedAt()),
+                    schedule.getVersion(), payload.userRef(schedule.getUser())));
+        }
+        return payload;
+    }
+    
+    public static CompactPayload ofOptimization(ScheduleOptimizer.OptimizedScheduleResult result) {
+        CompactPayload payload = new CompactPayload();
+        for (ScheduleOptimizer.ScheduledMeeting scheduled : result.getScheduledMeetings()) {
+            payload.scheduledMeetings.add(new ScheduledMeetingRow(payload.meetingRef(scheduled.getMeeting()),
+                    minutes(scheduled.getScheduledStart()), minutes(scheduled.getScheduledEnd()), scheduled.getScore()));
+        }
+        payload.optimizationScore = result.getOptimizationScore();
+        return payload;
+    }
+    
+    private Integer meetingRef(Meeting meeting) {
+        if (meeting == null) {
+            return null;
+        }
+        Integer ref = meetingRefs.get(meeting.getId());
+        if (ref == null) {
+            ref = meetings.size();
+            meetingRefs.put(meeting.getId(), ref);
+            meetings.add(new MeetingRow(meeting.getId(), meeting.getTitle(), meeting.getDescription(),
+                    meeting.getPriority(), meeting.getDurationMinutes(), minutes(meeting.getDeadline()),
+                    meeting.getStatus() != null ? meeting.getStatus().name() : null,
+                    minutes(meeting.getCreatedAt()), meeting.getVersion(), userRef(meeting.getUser())));
+        }
+        return ref;
+    }
+    
+    private Integer userRef(User user) {
+        if (user == null) {
+            return null;
+        }
+        // Keyed by id, which a lazy proxy answers without loading the row twice
+        Integer ref = userRefs.get(user.getId());
+        if (ref == null) {
+            ref = users.size();
+            userRefs.put(user.getId(), ref);
+            users.add(new UserRow(user.getId(), user.getEmail(), user.getFullName(),
+                    user.getRole() != null ? user.getRole().name() : null));
+        }
+        return ref;
+    }
+    
+    private static Long minutes(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) / 60 : null;
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "email", "fullName", "role"})
+    public record UserRow(UUID id, String email, String fullName, String role) {
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "title", "description", "priority", "durationMinutes", "deadline",
+                        "status", "createdAt", "version", "user"})
+    public record MeetingRow(UUID id, String title, String description, Integer priority, Integer durationMinutes,
+                             Long deadline, String status, Long createdAt, Long version, Integer user) {
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "meeting", "scheduledStart", "scheduledEnd", "optimizationScore",
+                        "createdAt", "version", "user"})
+    public record ScheduleRow(UUID id, Integer meeting, Long scheduledStart, Long scheduledEnd,
+                              Double optimizationScore, Long createdAt, Long version, Integer user) {
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"meeting", "scheduledStart", "scheduledEnd", "score"})
+    public record ScheduledMeetingRow(Integer meeting, Long scheduledStart, Long scheduledEnd, double score) {
+    }
+}
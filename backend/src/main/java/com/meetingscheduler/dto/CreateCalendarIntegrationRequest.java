@@ -0,0 +1,19 @@
+package com.meetingscheduler.dto;
+
+import com.meetingscheduler.entity.CalendarIntegration;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CreateCalendarIntegrationRequest {
+    
+    @NotNull(message = "Calendar type is required")
+    private CalendarIntegration.CalendarType calendarType;
+    
+    @NotBlank(message = "Auth token is required")
+    private String authToken;
+    
+    // Optional for Google and Outlook (primary calendar); the collection path for Apple
+    private String calendarId;
+}
@@ -0,0 +1,28 @@
+package com.meetingscheduler.dto;
+
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Notification;
+import com.meetingscheduler.entity.Schedule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the executive dashboard loads, in one response. Each list has the same
+ * content and order as its own endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    
+    private List<Meeting> meetings;
+    private List<Meeting> pendingMeetings;
+    private List<Schedule> schedules;
+    private List<Availability> availability;
+    private List<Notification> notifications;
+    private long unreadCount;
+}
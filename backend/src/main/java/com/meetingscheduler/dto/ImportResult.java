@@ -0,0 +1,32 @@
+package com.meetingscheduler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Valid rows are imported even when others fail; {@code errors}
+ * names the failed rows by line, up to a cap, with {@code errorsTruncated} set beyond it.
+ * When a database failure or unreadable input stops the import, {@code stoppedAtLine} is
+ * the first line not imported (every row before it was imported or is in {@code errors})
+ * and {@code stopReason} says why; resend from that line on.
+ */
+@Data
+public class ImportResult {
+    
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private Long stoppedAtLine;
+    private String stopReason;
+    
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.meetingscheduler.dto;
+
+import com.meetingscheduler.entity.Assists;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.entity.User;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of GET /api/secretary/{id}/overview: every executive the secretary is assigned to,
+ * with the access granted and that executive's meetings and schedules.
+ */
+@Data
+public class SecretaryOverview {
+    
+    private UUID secretaryId;
+    private List<ExecutiveOverview> executives = new ArrayList<>();
+    
+    @Data
+    public static class ExecutiveOverview {
+        private User executive;
+        private Assists.Permissions permissions;
+        private List<Meeting> meetings = new ArrayList<>();
+        private List<Schedule> schedules = new ArrayList<>();
+    }
+}
@@ -0,0 +1,33 @@
+package com.meetingscheduler.dto;
+
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Schedule;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of GET /api/sync/user/{userId}. With {@code reset} set the lists are the user's full
+ * state and replace whatever the client holds; otherwise they are the entities inserted or
+ * updated since the cursor, and the deleted* lists name the ones removed. Applying the same
+ * delta twice is harmless. Pass {@code cursor} back as {@code since}; if {@code hasMore} is
+ * set, call again straight away.
+ */
+@Data
+public class SyncResponse {
+    
+    private String cursor;
+    private boolean reset;
+    private boolean hasMore;
+    
+    private List<Meeting> meetings = new ArrayList<>();
+    private List<Schedule> schedules = new ArrayList<>();
+    private List<Availability> availability = new ArrayList<>();
+    
+    private List<UUID> deletedMeetings = new ArrayList<>();
+    private List<UUID> deletedSchedules = new ArrayList<>();
+    private List<UUID> deletedAvailability = new ArrayList<>();
+}
@@ -1,5 +1,6 @@
 package com.meetingscheduler.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "assists")
+@Table(name = "assists", uniqueConstraints = @UniqueConstraint(columnNames = {"assignee_id", "assigner_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,15 +40,18 @@ public class Assists {
     @Column(name = "assignee_id")
     private UUID assigneeId;
     
-    // Relationship with Secretary
+    // Relationship with the secretary. Users register as plain User rows with a role, so
+    // these point at users rather than the secretaries/executives subtype tables
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id", insertable = false, updatable = false)
-    private Secretary secretary;
+    @JsonIgnore
+    private User secretary;
     
-    // Relationship with Executive
+    // Relationship with the executive
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigner_id", insertable = false, updatable = false)
-    private Executive executive;
+    @JsonIgnore
+    private User executive;
     
     public enum Permissions {
         READ_ONLY, FULL_ACCESS, LIMITED_ACCESS
@@ -1,14 +1,21 @@
 package com.meetingscheduler.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * A user's connection to an external calendar. Busy times are pulled from it incrementally
+ * (see CalendarSyncService) and the user's schedules are pushed back to it.
+ */
 @Entity
-@Table(name = "calendar_integrations")
+@Table(name = "calendar_integrations", indexes = @Index(name = "idx_calendar_integrations_next_sync", columnList = "next_sync_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,25 +26,59 @@ public class CalendarIntegration {
     @Column(name = "id")
     private UUID id;
     
+    @Column(name = "user_id")
+    private UUID userId;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "calendar_type")
     private CalendarType calendarType;
     
+    // Bearer token for Google and Outlook, "user:app-password" for Apple (CalDAV)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "auth_token")
     private String authToken;
     
+    // Google calendar id or Outlook calendar id (primary when unset); the collection path for CalDAV
+    @Column(name = "calendar_id")
+    private String calendarId;
+    
     @Column(name = "is_active")
     private Boolean isActive = true;
     
     @Column(name = "created_at")
     private java.time.LocalDateTime createdAt;
     
+    // Provider cursor for the next delta; null means the next pull is a full one
+    @JsonIgnore
+    @Column(name = "sync_token", length = 4096)
+    private String syncToken;
+    
+    @Column(name = "next_sync_at")
+    private LocalDateTime nextSyncAt;
+    
+    // Set while a node is syncing the integration, so no other node picks it up
+    @JsonIgnore
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+    
+    @Column(name = "failure_count")
+    private Integer failureCount = 0;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = java.time.LocalDateTime.now();
         if (isActive == null) {
             isActive = true;
         }
+        if (failureCount == null) {
+            failureCount = 0;
+        }
     }
     
     public enum CalendarType {
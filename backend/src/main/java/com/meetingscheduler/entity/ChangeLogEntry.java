@@ -0,0 +1,49 @@
+package com.meetingscheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only record of a meeting, schedule or availability write, inserted in the same
+ * transaction as the write. Read in (tx_id, id) order by the delta sync endpoint.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_user_tx", columnList = "user_id, tx_id, id"),
+    @Index(name = "idx_change_log_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    
+    // pg_current_xact_id() of the writing transaction
+    @Column(name = "tx_id", nullable = false)
+    private Long txId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource", length = 32, nullable = false)
+    private ResourceVersion.Resource resource;
+    
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+    
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -21,9 +21,6 @@ public class Executive extends User {
     @Column(name = "employee_id", unique = true, nullable = false)
     private UUID employeeId;
     
-    @OneToMany(mappedBy = "executive", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Assists> assistsList;
-    
     @OneToMany(mappedBy = "requester", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ManageMeetingRequest> meetingRequests;
     
@@ -0,0 +1,48 @@
+package com.meetingscheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A busy time pulled from an external calendar. The optimizer treats it as occupied, the
+ * same as a meeting it has already placed.
+ */
+@Entity
+@Table(name = "external_busy_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_external_busy_slots_event", columnNames = {"integration_id", "external_id"}),
+       indexes = @Index(name = "idx_external_busy_slots_user_end", columnList = "user_id, end_time"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalBusySlot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id")
+    private UUID id;
+    
+    @Column(name = "integration_id", nullable = false)
+    private UUID integrationId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    // The event's id in the external calendar (the resource href for CalDAV)
+    @Column(name = "external_id", nullable = false, length = 1024)
+    private String externalId;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+    
+    // When the row was last confirmed by a pull; a full pull removes the rows it didn't see
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+}
@@ -0,0 +1,41 @@
+package com.meetingscheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A schedule pushed to an external calendar, and the event it became there. Lets a sync
+ * update or remove the event when the schedule changes, and skip it when it comes back in
+ * the pulled busy times.
+ */
+@Entity
+@Table(name = "external_event_links",
+       uniqueConstraints = @UniqueConstraint(name = "uk_external_event_links_schedule", columnNames = {"integration_id", "schedule_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalEventLink {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id")
+    private UUID id;
+    
+    @Column(name = "integration_id", nullable = false)
+    private UUID integrationId;
+    
+    // No foreign key: the link outlives the schedule until the event has been removed
+    @Column(name = "schedule_id", nullable = false)
+    private UUID scheduleId;
+    
+    @Column(name = "external_id", nullable = false, length = 1024)
+    private String externalId;
+    
+    // What was last pushed, so unchanged schedules are not sent again
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+}
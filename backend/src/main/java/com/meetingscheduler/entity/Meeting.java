@@ -44,6 +44,11 @@ public class Meeting {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // Optimistic locking; the default lets existing rows pick up the column on schema update
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+    
     // Relationship with User (single user system)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
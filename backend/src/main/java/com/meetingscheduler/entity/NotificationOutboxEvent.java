@@ -0,0 +1,57 @@
+package com.meetingscheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Notification waiting to be written to the notifications table (and pushed) by the
+ * NotificationDispatcher. Appended in the same transaction as the business change.
+ * A row that keeps failing on its own is dead-lettered (dead_at set) instead of blocking the rest.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = @Index(name = "idx_notification_outbox_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxEvent {
+    
+    // Reused as the notification id, which makes redelivery idempotent
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id")
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Notification.NotificationType type;
+    
+    @Column(name = "message", nullable = false)
+    private String message;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Failed deliveries of this row alone; the default lets existing rows pick up the column
+    @Column(name = "attempts", columnDefinition = "integer default 0")
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    // Set once attempts reach the limit; dead rows are left for an operator and never retried
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.meetingscheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change counter per user and resource, bumped in the same transaction as every write to
+ * that resource. Its value is the ETag of the user's list endpoints, and the time of the last
+ * bump is their Last-Modified.
+ */
+@Entity
+@Table(name = "resource_versions")
+@IdClass(ResourceVersion.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersion {
+    
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource", length = 32)
+    private Resource resource;
+    
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    
+    public enum Resource {
+        MEETINGS, SCHEDULES, AVAILABILITY, NOTIFICATIONS
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private Resource resource;
+    }
+}
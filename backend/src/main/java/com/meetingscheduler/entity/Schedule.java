@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = @Index(name = "idx_schedules_user_start", columnList = "user_id, scheduled_start"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +34,11 @@ public class Schedule {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // Optimistic locking; the default lets existing rows pick up the column on schema update
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+    
     // Relationship with Meeting
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "meeting_id")
@@ -6,7 +6,6 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
-import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -21,9 +20,6 @@ public class Secretary extends User {
     @Column(name = "employee_id", unique = true, nullable = false)
     private UUID employeeId;
     
-    @OneToMany(mappedBy = "secretary", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Assists> assistsList;
-    
     @PrePersist
     protected void onCreate() {
         super.onCreate();
@@ -0,0 +1,25 @@
+package com.meetingscheduler.repository;
+
+import com.meetingscheduler.entity.Assists;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AssistsRepository extends JpaRepository<Assists, UUID> {
+    
+    Optional<Assists> findByAssigneeIdAndAssignerId(UUID secretaryId, UUID executiveId);
+    
+    @Modifying
+    @Query("DELETE FROM Assists a WHERE a.assigneeId = :secretaryId AND a.assignerId = :executiveId")
+    int deleteAssignment(@Param("secretaryId") UUID secretaryId, @Param("executiveId") UUID executiveId);
+    
+    @Modifying
+    @Query("DELETE FROM Assists a WHERE a.assigneeId = :userId OR a.assignerId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -1,9 +1,13 @@
 package com.meetingscheduler.repository;
 
 import com.meetingscheduler.entity.Availability;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +17,12 @@ public interface AvailabilityRepository extends JpaRepository<Availability, UUID
     List<Availability> findByUserId(UUID userId);
     
     List<Availability> findByUserIdOrderByStartTimeAsc(UUID userId);
+    
+    List<Availability> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+    
+    @EntityGraph(attributePaths = "user")
+    List<Availability> findWithUserByUserIdOrderByStartTimeAsc(UUID userId);
+    
+    @Query("SELECT a.id, a.startTime, a.endTime FROM Availability a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Object[]> findOptimizationInputs(@Param("userId") UUID userId);
 }
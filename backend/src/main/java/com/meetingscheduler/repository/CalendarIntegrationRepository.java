@@ -0,0 +1,21 @@
+package com.meetingscheduler.repository;
+
+import com.meetingscheduler.entity.CalendarIntegration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CalendarIntegrationRepository extends JpaRepository<CalendarIntegration, UUID> {
+    
+    List<CalendarIntegration> findByUserIdOrderByCreatedAtAsc(UUID userId);
+    
+    @Modifying
+    @Query("DELETE FROM CalendarIntegration c WHERE c.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
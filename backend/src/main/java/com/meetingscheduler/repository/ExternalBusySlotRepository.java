@@ -0,0 +1,26 @@
+package com.meetingscheduler.repository;
+
+import com.meetingscheduler.entity.ExternalBusySlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ExternalBusySlotRepository extends JpaRepository<ExternalBusySlot, UUID> {
+    
+    List<ExternalBusySlot> findByUserIdAndEndTimeAfterOrderByStartTimeAsc(UUID userId, LocalDateTime after);
+    
+    @Modifying
+    @Query("DELETE FROM ExternalBusySlot s WHERE s.integrationId = :integrationId")
+    int deleteByIntegrationId(@Param("integrationId") UUID integrationId);
+    
+    @Modifying
+    @Query("DELETE FROM ExternalBusySlot s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,23 @@
+package com.meetingscheduler.repository;
+
+import com.meetingscheduler.entity.ExternalEventLink;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ExternalEventLinkRepository extends JpaRepository<ExternalEventLink, UUID> {
+    
+    @Modifying
+    @Query("DELETE FROM ExternalEventLink l WHERE l.integrationId = :integrationId")
+    int deleteByIntegrationId(@Param("integrationId") UUID integrationId);
+    
+    @Modifying
+    @Query("DELETE FROM ExternalEventLink l WHERE l.integrationId IN " +
+           "(SELECT c.id FROM CalendarIntegration c WHERE c.userId = :userId)")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -1,10 +1,22 @@
 package com.meetingscheduler.repository;
 
 import com.meetingscheduler.entity.Meeting;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,5 +29,83 @@ public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
     
     List<Meeting> findByUserIdAndStatus(UUID userId, Meeting.MeetingStatus status);
     
+    List<Meeting> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+    
+    // Fully loaded, for views that outlive the persistence context (see DashboardService)
+    @EntityGraph(attributePaths = "user")
+    List<Meeting> findWithUserByUserId(UUID userId);
+    
+    // One query for several users' meetings (see SecretaryService)
+    @EntityGraph(attributePaths = "user")
+    List<Meeting> findWithUserByUserIdIn(Collection<UUID> userIds);
+    
     List<Meeting> findByUserIdAndStatusOrderByPriorityDescDeadlineAsc(UUID userId, Meeting.MeetingStatus status);
+    
+    // Optimization input; its results are shared with coalesced and replayed requests after the persistence context is gone
+    @EntityGraph(attributePaths = "user")
+    List<Meeting> findWithUserByUserIdAndStatusOrderByPriorityDescDeadlineAsc(UUID userId, Meeting.MeetingStatus status);
+    
+    // Keyset pages streamed to the response (see JsonStreams), ordered by id
+    @Query("SELECT m FROM Meeting m JOIN FETCH m.user WHERE m.user.id = :userId AND m.id > :afterId ORDER BY m.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Meeting> findPageByUserId(@Param("userId") UUID userId, @Param("afterId") UUID afterId, Pageable page);
+    
+    default List<Meeting> findPageByUserId(UUID userId, Meeting after, int limit) {
+        return findPageByUserId(userId, after != null ? after.getId() : new UUID(0, 0), PageRequest.ofSize(limit));
+    }
+    
+    // Same order as the buffered list, with the id as tie-breaker
+    @Query("SELECT m FROM Meeting m JOIN FETCH m.user WHERE m.user.id = :userId AND m.status = :status " +
+           "AND (m.priority < :priority OR (m.priority = :priority AND (m.deadline > :deadline " +
+           "OR (m.deadline = :deadline AND m.id > :afterId)))) " +
+           "ORDER BY m.priority DESC, m.deadline ASC, m.id ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Meeting> findPageByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") Meeting.MeetingStatus status,
+                                            @Param("priority") Integer priority, @Param("deadline") LocalDateTime deadline,
+                                            @Param("afterId") UUID afterId, Pageable page);
+    
+    default List<Meeting> findPageByUserIdAndStatus(UUID userId, Meeting.MeetingStatus status, Meeting after, int limit) {
+        if (after == null) {
+            // Priorities are 1-10, so every row sorts after this
+            return findPageByUserIdAndStatus(userId, status, Integer.MAX_VALUE, LocalDateTime.now(), new UUID(0, 0),
+                PageRequest.ofSize(limit));
+        }
+        return findPageByUserIdAndStatus(userId, status, after.getPriority(), after.getDeadline(), after.getId(),
+            PageRequest.ofSize(limit));
+    }
+    
+    // Id and version of every pending meeting; any edit bumps the version, so this detects changes between snapshot and commit
+    @Query("SELECT m.id, m.version FROM Meeting m " +
+           "WHERE m.user.id = :userId AND m.status = :status ORDER BY m.id")
+    List<Object[]> findOptimizationInputs(@Param("userId") UUID userId, @Param("status") Meeting.MeetingStatus status);
+    
+    @Query("SELECT m.status AS status, COUNT(m) AS total FROM Meeting m GROUP BY m.status")
+    List<StatusCount> countByStatus();
+    
+    // Locked, so a bulk status update that follows changes exactly these rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m.id AS id, m.status AS status FROM Meeting m " +
+           "WHERE m.user.id = :userId AND m.id IN :ids AND m.status IN :fromStatuses")
+    List<IdStatus> lockByIdsAndStatus(@Param("userId") UUID userId,
+                                      @Param("ids") Collection<UUID> ids,
+                                      @Param("fromStatuses") Collection<Meeting.MeetingStatus> fromStatuses);
+    
+    // Bumps the version like an entity update would, so in-flight optimizations notice the change
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Meeting m SET m.status = :newStatus, m.version = m.version + 1 " +
+           "WHERE m.user.id = :userId AND m.id IN :ids AND m.status IN :fromStatuses")
+    int updateStatus(@Param("userId") UUID userId,
+                     @Param("ids") Collection<UUID> ids,
+                     @Param("fromStatuses") Collection<Meeting.MeetingStatus> fromStatuses,
+                     @Param("newStatus") Meeting.MeetingStatus newStatus);
+    
+    interface IdStatus {
+        UUID getId();
+        Meeting.MeetingStatus getStatus();
+    }
+    
+    interface StatusCount {
+        Meeting.MeetingStatus getStatus();
+        long getTotal();
+    }
 }
\ No newline at end of file
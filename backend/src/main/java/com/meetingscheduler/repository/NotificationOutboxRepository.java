@@ -0,0 +1,28 @@
+package com.meetingscheduler.repository;
+
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, UUID> {
+    
+    // SKIP LOCKED lets dispatchers on several nodes drain the outbox without blocking each other
+    @Query(value = "SELECT * FROM notification_outbox WHERE dead_at IS NULL ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<NotificationOutboxEvent> lockNextBatch(@Param("limit") int limit);
+    
+    @Query(value = "SELECT id FROM notification_outbox WHERE dead_at IS NULL ORDER BY created_at LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findNextIds(@Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM notification_outbox WHERE id = :id AND dead_at IS NULL FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<NotificationOutboxEvent> lockById(@Param("id") UUID id);
+}
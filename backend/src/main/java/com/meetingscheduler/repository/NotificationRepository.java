@@ -1,18 +1,73 @@
 package com.meetingscheduler.repository;
 
 import com.meetingscheduler.entity.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     
-    List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    // Every query is bounded below by created_at (see NotificationPartitionManager.retentionCutoff)
+    // so PostgreSQL prunes the monthly partitions outside the retention window
     
-    List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(UUID userId, Boolean isRead);
+    // Read-only, so no flush ever updates the row by id alone (the key is id, created_at):
+    // single rows change through markAsReadAt and deleteAt, which name their partition
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Notification> findByIdAndCreatedAtGreaterThanEqual(UUID id, LocalDateTime since);
     
-    Long countByUserIdAndIsRead(UUID userId, Boolean isRead);
+    List<Notification> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(UUID userId, LocalDateTime since);
+    
+    List<Notification> findByUserIdAndIsReadAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(UUID userId, Boolean isRead,
+                                                                                             LocalDateTime since);
+    
+    @EntityGraph(attributePaths = "user")
+    List<Notification> findWithUserByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(UUID userId, LocalDateTime since);
+    
+    Long countByUserIdAndIsReadAndCreatedAtGreaterThanEqual(UUID userId, Boolean isRead, LocalDateTime since);
+    
+    @Query("SELECT n.user.id AS userId, COUNT(n) AS total FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.isRead = false AND n.createdAt >= :since GROUP BY n.user.id")
+    List<UnreadCount> countUnreadByUserIds(@Param("userIds") Collection<UUID> userIds, @Param("since") LocalDateTime since);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.isRead = false AND n.createdAt >= :since")
+    int markAllAsRead(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.id IN :ids AND n.isRead = false AND n.createdAt >= :since")
+    int markAsRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids, @Param("since") LocalDateTime since);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.id IN :ids AND n.createdAt >= :since")
+    int deleteByUserIdAndIds(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids,
+                             @Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.id = :id AND n.createdAt = :createdAt AND n.isRead = false")
+    int markAsReadAt(@Param("id") UUID id, @Param("createdAt") LocalDateTime createdAt);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.createdAt = :createdAt")
+    int deleteAt(@Param("id") UUID id, @Param("createdAt") LocalDateTime createdAt);
+    
+    interface UnreadCount {
+        UUID getUserId();
+        long getTotal();
+    }
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.meetingscheduler.repository;
 
 import com.meetingscheduler.entity.Schedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,7 +26,41 @@ public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
     
     List<Schedule> findByUserIdOrderByOptimizationScoreDesc(UUID userId);
     
+    // Keyset pages streamed to the response (see JsonStreams), best score first; a missing score counts as 0
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.meeting JOIN FETCH s.user WHERE s.user.id = :userId " +
+           "AND (coalesce(s.optimizationScore, 0) < :score " +
+           "OR (coalesce(s.optimizationScore, 0) = :score AND s.id > :afterId)) " +
+           "ORDER BY coalesce(s.optimizationScore, 0) DESC, s.id ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Schedule> findPageByUserId(@Param("userId") UUID userId, @Param("score") Double score,
+                                    @Param("afterId") UUID afterId, Pageable page);
+    
+    default List<Schedule> findPageByUserId(UUID userId, Schedule after, int limit) {
+        if (after == null) {
+            return findPageByUserId(userId, Double.MAX_VALUE, new UUID(0, 0), PageRequest.ofSize(limit));
+        }
+        double score = after.getOptimizationScore() != null ? after.getOptimizationScore() : 0;
+        return findPageByUserId(userId, score, after.getId(), PageRequest.ofSize(limit));
+    }
+    
     List<Schedule> findByMeetingId(UUID meetingId);
     
     Optional<Schedule> findByMeetingIdAndUserId(UUID meetingId, UUID userId);
+    
+    List<Schedule> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+    
+    @EntityGraph(attributePaths = {"meeting", "user"})
+    List<Schedule> findWithMeetingAndUserByUserIdOrderByOptimizationScoreDesc(UUID userId);
+    
+    @EntityGraph(attributePaths = {"meeting", "user"})
+    List<Schedule> findWithMeetingAndUserByUserIdInOrderByOptimizationScoreDesc(Collection<UUID> userIds);
+    
+    @Query("SELECT COUNT(s) AS total, COALESCE(SUM(s.optimizationScore), 0) AS scoreSum " +
+           "FROM Schedule s WHERE s.optimizationScore IS NOT NULL")
+    ScoreTotals sumOptimizationScores();
+    
+    interface ScoreTotals {
+        long getTotal();
+        double getScoreSum();
+    }
 }
\ No newline at end of file
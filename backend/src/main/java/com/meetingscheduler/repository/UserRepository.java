@@ -1,8 +1,17 @@
 package com.meetingscheduler.repository;
 
 import com.meetingscheduler.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,5 +24,35 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     boolean existsByEmail(String email);
     
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("currentHash") String currentHash, @Param("newHash") String newHash);
+    
+    // Cached in the query cache; invalidated automatically whenever the users table is written
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-role")
+    })
     List<User> findByRole(User.UserRole role);
+    
+    // Keyset pages streamed to the response (see JsonStreams); bypasses the L2 cache so a full scan doesn't evict it
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    List<User> findPage(@Param("afterId") UUID afterId, Pageable page);
+    
+    default List<User> findPage(User after, int limit) {
+        return findPage(after != null ? after.getId() : new UUID(0, 0), PageRequest.ofSize(limit));
+    }
+    
+    @Query("SELECT u.role AS role, COUNT(u) AS total FROM User u GROUP BY u.role")
+    List<RoleCount> countByRole();
+    
+    interface RoleCount {
+        User.UserRole getRole();
+        long getTotal();
+    }
 }
\ No newline at end of file
@@ -1,15 +1,13 @@
 package com.meetingscheduler.service;
 
-import com.meetingscheduler.entity.Meeting;
 import com.meetingscheduler.entity.User;
-import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.AssistsRepository;
 import com.meetingscheduler.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -20,11 +18,17 @@ import java.util.UUID;
 public class AdminService {
     
     private final UserRepository userRepository;
-    private final MeetingRepository meetingRepository;
+    private final SystemStatisticsService statisticsService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ResourceVersionService resourceVersions;
+    private final AssistsRepository assistsRepository;
+    private final AssistsIndex assistsIndex;
+    private final CalendarIntegrationService calendarIntegrations;
+    private final UserSearchIndex userSearchIndex;
     
-    public List<User> getAllUsers() {
-        log.info("Fetching all users for admin");
-        return userRepository.findAll();
+    /** Keyset pages; JsonStreams reads each one in its own read-only transaction. */
+    public List<User> getUsersAfter(User after, int limit) {
+        return userRepository.findPage(after, limit);
     }
     
     @Transactional
@@ -34,8 +38,20 @@ public class AdminService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
+        // Updating through the entity (not a bulk query) keeps the "users" L2 region and the
+        // findByRole query cache consistent: Hibernate refreshes the entry and invalidates the query results
+        User.UserRole oldRole = user.getRole();
         user.setRole(newRole);
         User updatedUser = userRepository.save(user);
+        statisticsService.userRoleChanged(oldRole, newRole);
+        if (oldRole != newRole) {
+            // Assignments only hold between a secretary and an executive
+            assistsRepository.deleteByUserId(userId);
+            assistsIndex.userRemoved(userId);
+        }
+        userSearchIndex.updated(updatedUser);
+        // The user (and role) is embedded in every list representation
+        resourceVersions.bumpAll(userId);
         
         log.info("User role updated successfully");
         return updatedUser;
@@ -53,34 +69,24 @@ public class AdminService {
             throw new IllegalArgumentException("Cannot delete admin users");
         }
         
+        // Assignments reference the user row
+        assistsRepository.deleteByUserId(userId);
+        assistsIndex.userRemoved(userId);
+        calendarIntegrations.userRemoved(userId);
         userRepository.delete(user);
+        userSearchIndex.removed(userId);
+        statisticsService.userDeleted();
+        unreadCounter.invalidate(userId);
         log.info("User deleted successfully");
     }
     
     public Map<String, Object> getSystemStatistics() {
         log.info("Fetching system statistics");
         
-        Map<String, Object> stats = new HashMap<>();
-        
-        // User statistics
-        List<User> allUsers = userRepository.findAll();
-        stats.put("totalUsers", allUsers.size());
-        stats.put("activeExecutives", userRepository.findByRole(User.UserRole.executive).size());
-        stats.put("activeSecretaries", userRepository.findByRole(User.UserRole.secretary).size());
-        stats.put("activeAdmins", userRepository.findByRole(User.UserRole.admin).size());
-        
-        // Meeting statistics
-        List<Meeting> allMeetings = meetingRepository.findAll();
-        stats.put("totalMeetings", allMeetings.size());
-        stats.put("completedMeetings", meetingRepository.findByStatus(Meeting.MeetingStatus.completed).size());
-        stats.put("pendingMeetings", meetingRepository.findByStatus(Meeting.MeetingStatus.pending).size());
-        stats.put("scheduledMeetings", meetingRepository.findByStatus(Meeting.MeetingStatus.scheduled).size());
-        
-        // Calculate average optimization score (placeholder - would need Schedule repository)
-        stats.put("averageOptimizationScore", 0.85);
+        // Served from counters maintained on writes instead of loading every user and meeting
+        Map<String, Object> stats = statisticsService.snapshot();
         
         log.info("System statistics calculated: {}", stats);
         return stats;
     }
 }
-
@@ -0,0 +1,204 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.Assists;
+import com.meetingscheduler.repository.AssistsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Secretary to executive assignments (the assists table), held in memory so listing a
+ * secretary's executives and checking access never touch the database. Loaded at startup,
+ * changed after commit by every assignment written through this node, and reloaded
+ * periodically to pick up assignments made through other nodes.
+ *
+ * Readers get an immutable snapshot; writers replace it under a lock. Assignments change
+ * rarely, so copying the outer map on each change is cheap.
+ */
+@Service
+@Slf4j
+public class AssistsIndex {
+
+    // Hibernate pointed these at the subtype tables, which registered users never have rows in
+    private static final String SUBTYPE_FOREIGN_KEYS =
+        "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass('assists') AND contype = 'f' " +
+        "AND confrelid::regclass::text IN ('executives', 'secretaries')";
+
+    private final AssistsRepository assistsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+    private volatile Map<UUID, Map<UUID, Grant>> bySecretary = Map.of();
+    private long changes; // guarded by lock
+    private final Map<UUID, Instant> changedAt = new ConcurrentHashMap<>();
+    private final Instant createdAt = Instant.now();
+
+    public AssistsIndex(AssistsRepository assistsRepository, JdbcTemplate jdbcTemplate) {
+        this.assistsRepository = assistsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        for (String constraint : jdbcTemplate.queryForList(SUBTYPE_FOREIGN_KEYS, String.class)) {
+            log.info("Dropping assists foreign key {} to a user subtype table", constraint);
+            jdbcTemplate.execute("ALTER TABLE assists DROP CONSTRAINT \"" + constraint + "\"");
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.assists.reload-interval-ms:60000}",
+               initialDelayString = "${scheduler.assists.reload-interval-ms:60000}")
+    public void reload() {
+        long seen;
+        synchronized (lock) {
+            seen = changes;
+        }
+        Map<UUID, Map<UUID, Grant>> loaded = new HashMap<>();
+        for (Assists assists : assistsRepository.findAll()) {
+            loaded.computeIfAbsent(assists.getAssigneeId(), id -> new HashMap<>())
+                .put(assists.getAssignerId(), Grant.of(assists));
+        }
+        loaded.replaceAll((secretaryId, grants) -> Map.copyOf(grants));
+        synchronized (lock) {
+            // A change applied while loading may be missing from what was read; keep it and retry next time
+            if (changes == seen) {
+                Map<UUID, Map<UUID, Grant>> previous = bySecretary;
+                bySecretary = Map.copyOf(loaded);
+                markChanged(previous, bySecretary);
+            }
+        }
+    }
+
+    /** Executives the secretary is currently assigned to, with the access each one granted. */
+    public Map<UUID, Assists.Permissions> executivesOf(UUID secretaryId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, Assists.Permissions> active = new HashMap<>();
+        bySecretary.getOrDefault(secretaryId, Map.of()).forEach((executiveId, grant) -> {
+            if (grant.isActive(now)) {
+                active.put(executiveId, grant.permissions());
+            }
+        });
+        return active;
+    }
+
+    public Optional<Assists.Permissions> permissions(UUID secretaryId, UUID executiveId) {
+        Grant grant = bySecretary.getOrDefault(secretaryId, Map.of()).get(executiveId);
+        return grant != null && grant.isActive(LocalDateTime.now()) ? Optional.of(grant.permissions()) : Optional.empty();
+    }
+
+    public boolean canAccess(UUID secretaryId, UUID executiveId) {
+        return permissions(secretaryId, executiveId).isPresent();
+    }
+
+    /**
+     * When the secretary's set of executives last changed, as far as this node can tell:
+     * an assignment written or reloaded here, or a start or end date that has passed. Startup
+     * counts as a change.
+     */
+    public Instant changedAt(UUID secretaryId) {
+        Instant changed = changedAt.getOrDefault(secretaryId, createdAt);
+        LocalDateTime now = LocalDateTime.now();
+        for (Grant grant : bySecretary.getOrDefault(secretaryId, Map.of()).values()) {
+            for (LocalDateTime boundary : new LocalDateTime[] {grant.startDate(), grant.endDate()}) {
+                if (boundary != null && !boundary.isAfter(now)) {
+                    Instant passed = boundary.atZone(ZoneId.systemDefault()).toInstant();
+                    changed = passed.isAfter(changed) ? passed : changed;
+                }
+            }
+        }
+        return changed;
+    }
+
+    public void assigned(Assists assists) {
+        Grant grant = Grant.of(assists);
+        apply(index -> withSecretary(index, assists.getAssigneeId(), grants -> grants.put(assists.getAssignerId(), grant)));
+    }
+
+    public void unassigned(UUID secretaryId, UUID executiveId) {
+        apply(index -> withSecretary(index, secretaryId, grants -> grants.remove(executiveId)));
+    }
+
+    /** Drops every assignment the user is on either side of. */
+    public void userRemoved(UUID userId) {
+        apply(index -> {
+            Map<UUID, Map<UUID, Grant>> next = new HashMap<>(index);
+            next.remove(userId);
+            next.replaceAll((secretaryId, grants) -> {
+                if (!grants.containsKey(userId)) {
+                    return grants;
+                }
+                Map<UUID, Grant> copy = new HashMap<>(grants);
+                copy.remove(userId);
+                return Map.copyOf(copy);
+            });
+            next.values().removeIf(Map::isEmpty);
+            return Map.copyOf(next);
+        });
+    }
+
+    private void apply(UnaryOperator<Map<UUID, Map<UUID, Grant>>> change) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (lock) {
+                Map<UUID, Map<UUID, Grant>> previous = bySecretary;
+                bySecretary = change.apply(previous);
+                changes++;
+                markChanged(previous, bySecretary);
+            }
+        });
+    }
+
+    private void markChanged(Map<UUID, Map<UUID, Grant>> previous, Map<UUID, Map<UUID, Grant>> current) {
+        Set<UUID> secretaries = new HashSet<>(previous.keySet());
+        secretaries.addAll(current.keySet());
+        Instant now = Instant.now();
+        for (UUID secretaryId : secretaries) {
+            if (!previous.getOrDefault(secretaryId, Map.of()).equals(current.getOrDefault(secretaryId, Map.of()))) {
+                changedAt.put(secretaryId, now);
+            }
+        }
+    }
+
+    private static Map<UUID, Map<UUID, Grant>> withSecretary(Map<UUID, Map<UUID, Grant>> index, UUID secretaryId,
+                                                             Consumer<Map<UUID, Grant>> edit) {
+        Map<UUID, Grant> grants = new HashMap<>(index.getOrDefault(secretaryId, Map.of()));
+        edit.accept(grants);
+        Map<UUID, Map<UUID, Grant>> next = new HashMap<>(index);
+        if (grants.isEmpty()) {
+            next.remove(secretaryId);
+        } else {
+            next.put(secretaryId, Map.copyOf(grants));
+        }
+        return Map.copyOf(next);
+    }
+
+    private record Grant(Assists.Permissions permissions, LocalDateTime startDate, LocalDateTime endDate) {
+
+        static Grant of(Assists assists) {
+            // Unset means the level the assign endpoint defaults to
+            Assists.Permissions permissions = assists.getPermissions() != null
+                ? assists.getPermissions() : Assists.Permissions.FULL_ACCESS;
+            return new Grant(permissions, assists.getStartDate(), assists.getEndDate());
+        }
+
+        boolean isActive(LocalDateTime now) {
+            return (startDate == null || !startDate.isAfter(now)) && (endDate == null || endDate.isAfter(now));
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.meetingscheduler.service;
 
+import com.meetingscheduler.config.PasswordHashing;
+import com.meetingscheduler.entity.Assists;
 import com.meetingscheduler.entity.User;
+import com.meetingscheduler.repository.AssistsRepository;
 import com.meetingscheduler.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,23 +21,55 @@ import java.util.UUID;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashing passwordHashing;
+    private final UnknownEmailCache unknownEmails;
+    private final UserSearchIndex userSearchIndex;
+    private final SystemStatisticsService statisticsService;
+    private final AssistsRepository assistsRepository;
+    private final AssistsIndex assistsIndex;
     
     public Optional<User> authenticate(String email, String password) {
         log.info("Authenticating user with email: {}", email);
         
+        if (unknownEmails.isUnknown(email)) {
+            log.warn("Authentication failed for unknown email: {}", email);
+            return Optional.empty();
+        }
+        
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordHashing.matches(password, user.getPassword())) {
+                if (passwordHashing.needsRehash(user.getPassword())) {
+                    rehash(user, password);
+                }
                 return Optional.of(user);
             }
+        } else {
+            unknownEmails.remember(email);
         }
         
         log.warn("Authentication failed for email: {}", email);
         return Optional.empty();
     }
     
+    // The work factor changed since this hash was made; upgrade it in the background, the login doesn't wait
+    private void rehash(User user, String password) {
+        UUID userId = user.getId();
+        String currentHash = user.getPassword();
+        passwordHashing.encodeLater(password)
+            .thenAccept(newHash -> {
+                // Only if the password wasn't changed meanwhile
+                if (userRepository.updatePasswordHash(userId, currentHash, newHash) > 0) {
+                    log.info("Rehashed password for user {} with the configured work factor", userId);
+                }
+            })
+            .exceptionally(e -> {
+                log.warn("Password rehash for user {} skipped, will retry at next login: {}", userId, e.getMessage());
+                return null;
+            });
+    }
+    
     public User register(String email, String password, String fullName, User.UserRole role) {
         log.info("Registering new user: {}", email);
         
@@ -45,39 +81,45 @@ public class AuthService {
         // Create new user
         User user = new User();
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHashing.encode(password));
         user.setFullName(fullName);
         user.setRole(role);
         
         User savedUser = userRepository.save(user);
+        unknownEmails.forget(email);
+        userSearchIndex.updated(savedUser);
+        statisticsService.userCreated(savedUser.getRole());
         log.info("User registered successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(UUID userId) {
         return userRepository.findById(userId).orElse(null);
     }
 
     // Get all executives (for secretaries and admins)
+    @Transactional(readOnly = true)
     public List<User> getAllExecutives() {
         return userRepository.findByRole(User.UserRole.executive);
     }
 
-    // Get all users (for meeting participants)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Keyset pages of all users; JsonStreams reads each one in its own read-only transaction
+    @Transactional(readOnly = true)
+    public List<User> getUsersAfter(User after, int limit) {
+        return userRepository.findPage(after, limit);
     }
 
     // Get executives assigned to a specific secretary
+    @Transactional(readOnly = true)
     public List<User> getExecutivesBySecretary(UUID secretaryId) {
-        // For now, return all executives. In a real system, you'd have a mapping table
-        return userRepository.findByRole(User.UserRole.executive);
+        // Assignments come from the in-memory index; only the user rows are loaded
+        return userRepository.findAllById(assistsIndex.executivesOf(secretaryId).keySet());
     }
 
-    // Assign secretary to executive (for admins)
-    public void assignSecretaryToExecutive(UUID executiveId, UUID secretaryId) {
-        // In a real system, you'd update a mapping table
-        // For now, just validate that both users exist
+    // Assign secretary to executive (for admins); re-assigning updates the permissions
+    @Transactional
+    public void assignSecretaryToExecutive(UUID executiveId, UUID secretaryId, Assists.Permissions permissions) {
         User executive = userRepository.findById(executiveId).orElse(null);
         User secretary = userRepository.findById(secretaryId).orElse(null);
         
@@ -87,8 +129,32 @@ public class AuthService {
         if (secretary == null) {
             throw new RuntimeException("Secretary not found");
         }
+        if (executive.getRole() != User.UserRole.executive) {
+            throw new RuntimeException("User is not an executive");
+        }
         if (secretary.getRole() != User.UserRole.secretary) {
             throw new RuntimeException("User is not a secretary");
         }
+        
+        Assists assists = assistsRepository.findByAssigneeIdAndAssignerId(secretaryId, executiveId)
+            .orElseGet(() -> {
+                Assists created = new Assists();
+                created.setAssigneeId(secretaryId);
+                created.setAssignerId(executiveId);
+                created.setStartDate(LocalDateTime.now());
+                return created;
+            });
+        assists.setPermissions(permissions);
+        assistsIndex.assigned(assistsRepository.save(assists));
+        log.info("Secretary {} assigned to executive {} with {}", secretaryId, executiveId, permissions);
+    }
+
+    @Transactional
+    public void unassignSecretaryFromExecutive(UUID executiveId, UUID secretaryId) {
+        if (assistsRepository.deleteAssignment(secretaryId, executiveId) == 0) {
+            throw new RuntimeException("Secretary is not assigned to this executive");
+        }
+        assistsIndex.unassigned(secretaryId, executiveId);
+        log.info("Secretary {} unassigned from executive {}", secretaryId, executiveId);
     }
 }
\ No newline at end of file
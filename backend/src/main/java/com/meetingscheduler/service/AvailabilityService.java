@@ -1,6 +1,7 @@
 package com.meetingscheduler.service;
 
 import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.ResourceVersion;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.repository.AvailabilityRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,10 @@ import java.util.UUID;
 public class AvailabilityService {
     
     private final AvailabilityRepository availabilityRepository;
+    private final ResourceVersionService resourceVersions;
+    private final ChangeLogService changeLog;
     
+    @Transactional(readOnly = true)
     public List<Availability> getAvailabilityByUser(UUID userId) {
         log.info("Fetching availability for user ID: {}", userId);
         return availabilityRepository.findByUserIdOrderByStartTimeAsc(userId);
@@ -32,7 +36,10 @@ public class AvailabilityService {
         validateAvailability(availability);
         
         availability.setUser(user);
-        return availabilityRepository.save(availability);
+        Availability savedAvailability = availabilityRepository.save(availability);
+        resourceVersions.bump(user.getId(), ResourceVersion.Resource.AVAILABILITY);
+        changeLog.recordUpserts(user.getId(), ResourceVersion.Resource.AVAILABILITY, List.of(savedAvailability.getId()));
+        return savedAvailability;
     }
     
     @Transactional
@@ -48,9 +55,12 @@ public class AvailabilityService {
         }
         
         availabilityRepository.delete(availability);
+        resourceVersions.bump(userId, ResourceVersion.Resource.AVAILABILITY);
+        changeLog.recordDeletes(userId, ResourceVersion.Resource.AVAILABILITY, List.of(availabilityId));
     }
     
-    private void validateAvailability(Availability availability) {
+    // Also applied to every row of a bulk import (see BulkImportService)
+    void validateAvailability(Availability availability) {
         if (availability.getStartTime() == null) {
             throw new IllegalArgumentException("Start time is required");
         }
@@ -0,0 +1,263 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.dto.ImportResult;
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Notification;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Imports meetings or availability from an uploaded file. Rows are parsed one at a time,
+ * checked with the same rules as the single-row endpoints, and written with JDBC batch
+ * inserts. Each batch commits on its own, together with its version bump and change-log
+ * entries, so memory and transaction size stay flat however long the file is. Rows that fail
+ * are reported by line and do not stop the rest: a batch the database rejects (a constraint
+ * the checks missed) is redone row by row, each row on its own, so only the bad rows fail.
+ * Any other database failure stops the import, as does input the reader can't get past (an
+ * unclosed quote in a CSV); the result says from which line on nothing was imported, so a
+ * retry can resend just the rest instead of duplicating rows.
+ */
+@Service
+@Slf4j
+public class BulkImportService {
+
+    private static final String INSERT_MEETING =
+        "INSERT INTO meetings (id, title, description, priority, duration_minutes, deadline, status, created_at, version, user_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_AVAILABILITY =
+        "INSERT INTO availability (id, start_time, end_time, created_at, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final MeetingService meetingService;
+    private final AvailabilityService availabilityService;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final SystemStatisticsService statisticsService;
+    private final ResourceVersionService resourceVersions;
+    private final ChangeLogService changeLog;
+    private final PushService pushService;
+    private final NotificationOutbox notificationOutbox;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public BulkImportService(MeetingService meetingService,
+                             AvailabilityService availabilityService,
+                             UserRepository userRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             SystemStatisticsService statisticsService,
+                             ResourceVersionService resourceVersions,
+                             ChangeLogService changeLog,
+                             PushService pushService,
+                             NotificationOutbox notificationOutbox,
+                             @Value("${scheduler.imports.batch-size:500}") int batchSize,
+                             @Value("${scheduler.imports.max-reported-errors:1000}") int maxReportedErrors) {
+        this.meetingService = meetingService;
+        this.availabilityService = availabilityService;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.statisticsService = statisticsService;
+        this.resourceVersions = resourceVersions;
+        this.changeLog = changeLog;
+        this.pushService = pushService;
+        this.notificationOutbox = notificationOutbox;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importMeetings(UUID userId, ImportFormat format, InputStream body) throws IOException {
+        log.info("Importing meetings ({}) for user ID: {}", format, userId);
+        ImportResult result = run(userId, format, body, this::toMeeting, batch -> insertMeetings(userId, batch));
+        if (result.getImported() > 0) {
+            // One summary notification instead of one per meeting; losing it mustn't lose the report
+            try {
+                transaction.executeWithoutResult(status -> notificationOutbox.enqueue(userId,
+                    Notification.NotificationType.MEETING_CREATED, result.getImported() + " meetings imported"));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Import summary notification failed for user ID: {}: {}", userId, e.getMessage());
+            }
+        }
+        log.info("Imported {} meetings for user ID: {} ({} rows failed)", result.getImported(), userId, result.getFailed());
+        return result;
+    }
+
+    public ImportResult importAvailability(UUID userId, ImportFormat format, InputStream body) throws IOException {
+        log.info("Importing availability ({}) for user ID: {}", format, userId);
+        ImportResult result = run(userId, format, body, this::toAvailability, batch -> insertAvailability(userId, batch));
+        log.info("Imported {} availability slots for user ID: {} ({} rows failed)", result.getImported(), userId, result.getFailed());
+        return result;
+    }
+
+    private <T> ImportResult run(UUID userId, ImportFormat format, InputStream body,
+                                 Function<ImportReader.Row, T> convert, Consumer<List<T>> insert) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+        ImportResult result = new ImportResult();
+        List<T> batch = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+        try (ImportReader rows = ImportReader.open(format, body)) {
+            ImportReader.Unreadable unreadable = null;
+            try {
+                while (rows.hasNext()) {
+                    ImportReader.Row row = rows.next();
+                    try {
+                        if (row.error() != null) {
+                            throw new IllegalArgumentException(row.error());
+                        }
+                        batch.add(convert.apply(row));
+                        lines.add(row.line());
+                    } catch (IllegalArgumentException e) {
+                        reportError(result, row.line(), e.getMessage());
+                        continue;
+                    }
+                    if (batch.size() == batchSize) {
+                        flush(batch, lines, insert, result);
+                    }
+                }
+            } catch (ImportReader.Unreadable e) {
+                // The rows read before it still go in
+                unreadable = e;
+            }
+            flush(batch, lines, insert, result);
+            if (unreadable != null) {
+                log.warn("Import stopped at line {}: {}", unreadable.getLine(), unreadable.getMessage());
+                result.setStoppedAtLine(unreadable.getLine());
+                result.setStopReason("Unreadable input: " + unreadable.getMessage());
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // Earlier batches are committed; report where to resume rather than failing the whole request
+            log.error("Import stopped at line {}: {}", lines.get(0), e.getMessage());
+            result.setStoppedAtLine(lines.get(0));
+            result.setStopReason("Database error: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        return result;
+    }
+
+    private <T> void flush(List<T> batch, List<Long> lines, Consumer<List<T>> insert, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> insert.accept(batch));
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import batch rejected, retrying row by row: {}", e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                List<T> row = List.of(batch.get(i));
+                try {
+                    transaction.executeWithoutResult(status -> insert.accept(row));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException rejected) {
+                    reportError(result, lines.get(i), "Rejected by the database: " + rejected.getMostSpecificCause().getMessage());
+                } catch (DataAccessException | TransactionException failed) {
+                    // Rows before this one are committed; resume from here
+                    lines.subList(0, i).clear();
+                    throw failed;
+                }
+            }
+        }
+        batch.clear();
+        lines.clear();
+    }
+
+    private void reportError(ImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResult.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Meeting toMeeting(ImportReader.Row row) {
+        requireNotCancelled(row);
+        Meeting meeting = new Meeting();
+        meeting.setTitle(row.text("title"));
+        meeting.setDescription(row.text("description"));
+        meeting.setPriority(row.integer("priority"));
+        meeting.setDurationMinutes(row.integer("durationMinutes"));
+        meeting.setDeadline(row.dateTime("deadline"));
+        meetingService.validateMeeting(meeting);
+        meeting.setId(UUID.randomUUID());
+        meeting.setStatus(Meeting.MeetingStatus.pending);
+        return meeting;
+    }
+
+    private Availability toAvailability(ImportReader.Row row) {
+        requireNotCancelled(row);
+        // A calendar event blocks its time unless marked transparent; rows without the field are free time
+        if ("OPAQUE".equalsIgnoreCase(row.text("transparency"))) {
+            throw new IllegalArgumentException("Busy event (TRANSP:OPAQUE) is not free time");
+        }
+        Availability availability = new Availability();
+        availability.setStartTime(row.dateTime("startTime"));
+        availability.setEndTime(row.dateTime("endTime"));
+        availabilityService.validateAvailability(availability);
+        availability.setId(UUID.randomUUID());
+        return availability;
+    }
+
+    private static void requireNotCancelled(ImportReader.Row row) {
+        if ("CANCELLED".equalsIgnoreCase(row.text("status"))) {
+            throw new IllegalArgumentException("Cancelled entries are not imported");
+        }
+    }
+
+    private void insertMeetings(UUID userId, List<Meeting> meetings) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MEETING, meetings, meetings.size(), (ps, meeting) -> {
+            ps.setObject(1, meeting.getId());
+            ps.setString(2, meeting.getTitle());
+            ps.setString(3, meeting.getDescription());
+            ps.setInt(4, meeting.getPriority());
+            ps.setInt(5, meeting.getDurationMinutes());
+            ps.setTimestamp(6, Timestamp.valueOf(meeting.getDeadline()));
+            ps.setString(7, meeting.getStatus().name());
+            ps.setTimestamp(8, now);
+            ps.setObject(9, userId);
+        });
+        List<UUID> ids = meetings.stream().map(Meeting::getId).toList();
+        statisticsService.meetingsCreated(Meeting.MeetingStatus.pending, ids.size());
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.MEETINGS, ids);
+        pushService.publish(userId, "meeting", Map.of("meetingIds", ids, "status", Meeting.MeetingStatus.pending.name()));
+    }
+
+    private void insertAvailability(UUID userId, List<Availability> slots) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_AVAILABILITY, slots, slots.size(), (ps, slot) -> {
+            ps.setObject(1, slot.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(slot.getStartTime()));
+            ps.setTimestamp(3, Timestamp.valueOf(slot.getEndTime()));
+            ps.setTimestamp(4, now);
+            ps.setObject(5, userId);
+        });
+        resourceVersions.bump(userId, ResourceVersion.Resource.AVAILABILITY);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.AVAILABILITY, slots.stream().map(Availability::getId).toList());
+    }
+}
@@ -0,0 +1,199 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.CalendarIntegration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Apple (iCloud) calendars over CalDAV. Pulls use the WebDAV sync-collection REPORT
+ * (RFC 6578) with calendar data inline; a truncated answer (507 on the collection) means
+ * more follows under the new token. Each calendar object counts as one busy time, its first
+ * event's; recurrences are not expanded. Pushed events are PUT as {collection}{schedule id}.ics.
+ */
+@Component
+class CalDavCalendarClient implements CalendarClient {
+
+    private static final String DAV = "DAV:";
+    private static final String CALDAV = "urn:ietf:params:xml:ns:caldav";
+    private static final String SYNC_REPORT =
+        "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+        "<d:sync-collection xmlns:d=\"DAV:\" xmlns:c=\"urn:ietf:params:xml:ns:caldav\">" +
+        "<d:sync-token>%s</d:sync-token><d:sync-level>1</d:sync-level>" +
+        "<d:prop><d:getetag/><c:calendar-data/></d:prop></d:sync-collection>";
+
+    private final CalendarHttp http;
+    private final String baseUrl;
+
+    CalDavCalendarClient(CalendarHttp http,
+                         @Value("${scheduler.calendar-sync.apple.base-url:https://caldav.icloud.com}") String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public CalendarIntegration.CalendarType type() {
+        return CalendarIntegration.CalendarType.APPLE_CALENDAR;
+    }
+
+    @Override
+    public ChangePage changes(CalendarIntegration integration, String syncToken, String pageToken) throws IOException {
+        String token = pageToken != null ? pageToken : syncToken;
+        String body = String.format(SYNC_REPORT, token != null ? escape(token) : "");
+        HttpResponse<String> response = http.send(authorized(integration, CalendarHttp.request(collection(integration))
+            .header("Content-Type", "application/xml; charset=utf-8")
+            .header("Depth", "0")
+            .method("REPORT", HttpRequest.BodyPublishers.ofString(body))), 403, 409);
+        if (response.statusCode() == 403 || response.statusCode() == 409) {
+            if (response.body() != null && response.body().contains("valid-sync-token")) {
+                throw new CalendarSyncException(CalendarSyncException.Reason.TOKEN_EXPIRED, "CalDAV sync token expired");
+            }
+            throw new CalendarSyncException(CalendarSyncException.Reason.UNAUTHORIZED,
+                "CalDAV server refused the sync report (" + response.statusCode() + ")");
+        }
+
+        Document multistatus = parse(response.body());
+        String collectionPath = URI.create(collection(integration)).getPath();
+        List<Change> changes = new ArrayList<>();
+        boolean truncated = false;
+        NodeList responses = multistatus.getElementsByTagNameNS(DAV, "response");
+        for (int i = 0; i < responses.getLength(); i++) {
+            Element entry = (Element) responses.item(i);
+            String href = text(entry, DAV, "href");
+            String status = directStatus(entry);
+            if (href == null) {
+                continue;
+            }
+            if (href.equals(collectionPath) || href.equals(collection(integration))) {
+                truncated |= status != null && status.contains(" 507 ");
+                continue;
+            }
+            String calendarData = text(entry, CALDAV, "calendar-data");
+            if ((status != null && status.contains(" 404 ")) || calendarData == null) {
+                changes.add(new Change(href, null, null, false));
+            } else {
+                changes.add(toChange(href, calendarData));
+            }
+        }
+        String nextToken = text(multistatus.getDocumentElement(), DAV, "sync-token");
+        return truncated ? new ChangePage(changes, nextToken, null) : new ChangePage(changes, null, nextToken);
+    }
+
+    @Override
+    public String upsert(CalendarIntegration integration, String externalId, Event event) throws IOException {
+        String path = externalId != null ? externalId : URI.create(collection(integration)).getPath() + event.key() + ".ics";
+        ByteArrayOutputStream ics = new ByteArrayOutputStream();
+        try (ICalendarWriter calendar = new ICalendarWriter(ics)) {
+            calendar.begin("VCALENDAR");
+            calendar.property("VERSION", "2.0");
+            calendar.property("PRODID", "-//Meeting Scheduler//Schedules//EN");
+            calendar.begin("VEVENT");
+            calendar.property("UID", event.key());
+            calendar.dateTime("DTSTAMP", LocalDateTime.now());
+            calendar.dateTime("DTSTART", event.start());
+            calendar.dateTime("DTEND", event.end());
+            calendar.text("SUMMARY", event.title());
+            calendar.text("DESCRIPTION", event.description());
+            calendar.end("VEVENT");
+            calendar.end("VCALENDAR");
+        }
+        http.send(authorized(integration, CalendarHttp.request(origin() + path)
+            .header("Content-Type", "text/calendar; charset=utf-8")
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(ics.toByteArray()))));
+        return path;
+    }
+
+    @Override
+    public void delete(CalendarIntegration integration, String externalId) throws IOException {
+        http.send(authorized(integration, CalendarHttp.request(origin() + externalId).DELETE()), 404);
+    }
+
+    private String collection(CalendarIntegration integration) {
+        String path = integration.getCalendarId();
+        return baseUrl + (path.startsWith("/") ? "" : "/") + path + (path.endsWith("/") ? "" : "/");
+    }
+
+    private String origin() {
+        URI base = URI.create(baseUrl);
+        return base.getScheme() + "://" + base.getAuthority();
+    }
+
+    private static Change toChange(String href, String calendarData) throws IOException {
+        try (ImportReader events = new ICalendarReader(new ByteArrayInputStream(calendarData.getBytes(StandardCharsets.UTF_8)))) {
+            if (!events.hasNext()) {
+                return new Change(href, null, null, false);
+            }
+            ImportReader.Row event = events.next();
+            if (event.error() != null) {
+                return new Change(href, null, null, false);
+            }
+            LocalDateTime start = event.dateTime("startTime");
+            LocalDateTime end = event.dateTime("endTime");
+            boolean busy = !"CANCELLED".equalsIgnoreCase(event.text("status"))
+                && !"TRANSPARENT".equalsIgnoreCase(event.text("transparency"));
+            return new Change(href, start, end, busy && start != null && end != null);
+        }
+    }
+
+    // "Basic" credentials: an app-specific password, stored as user:password
+    private static HttpRequest.Builder authorized(CalendarIntegration integration, HttpRequest.Builder request) {
+        String credentials = Base64.getEncoder().encodeToString(integration.getAuthToken().getBytes(StandardCharsets.UTF_8));
+        return request.header("Authorization", "Basic " + credentials);
+    }
+
+    private static Document parse(String xml) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            // Server responses are untrusted: no DTDs, no external entities
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return builder.parse(new InputSource(new StringReader(xml)));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new CalendarSyncException(CalendarSyncException.Reason.FAILED, "Unreadable CalDAV response: " + e.getMessage());
+        }
+    }
+
+    private static String text(Element parent, String namespace, String name) {
+        NodeList nodes = parent.getElementsByTagNameNS(namespace, name);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent().trim() : null;
+    }
+
+    // The response's own status (removed members, truncation), not the one inside a propstat
+    private static String directStatus(Element entry) {
+        for (Node child = entry.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && DAV.equals(element.getNamespaceURI()) && "status".equals(element.getLocalName())) {
+                return element.getTextContent().trim();
+            }
+        }
+        return null;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
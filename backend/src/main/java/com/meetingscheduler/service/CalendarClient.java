@@ -0,0 +1,42 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.CalendarIntegration;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One external calendar provider's wire protocol. Pulls are incremental: a page of changes
+ * since a sync token, where the last page hands out the token for the next pull. Times are
+ * server time, as everywhere else.
+ */
+interface CalendarClient {
+
+    CalendarIntegration.CalendarType type();
+
+    /**
+     * Changes since {@code syncToken} (everything when null), continuing from
+     * {@code pageToken} when not null. Throws with TOKEN_EXPIRED when the provider no longer
+     * accepts the sync token and a full pull is needed.
+     */
+    ChangePage changes(CalendarIntegration integration, String syncToken, String pageToken) throws IOException;
+
+    /** Creates the event when {@code externalId} is null, otherwise replaces it. Returns its id. */
+    String upsert(CalendarIntegration integration, String externalId, Event event) throws IOException;
+
+    /** An event that is already gone is not an error. */
+    void delete(CalendarIntegration integration, String externalId) throws IOException;
+
+    /** One changed event; a removed, cancelled or free event has {@code busy} false. */
+    record Change(String externalId, LocalDateTime start, LocalDateTime end, boolean busy) {
+    }
+
+    /** Exactly one of the tokens is set: more pages follow, or this was the last one. */
+    record ChangePage(List<Change> changes, String nextPageToken, String nextSyncToken) {
+    }
+
+    /** A schedule as it is pushed out; {@code key} is the schedule id. */
+    record Event(String key, String title, String description, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The HTTP side shared by the calendar providers: timeouts, and turning error statuses into
+ * a CalendarSyncException the sync engine understands. One client (and connection pool) for
+ * all of them.
+ */
+@Component
+class CalendarHttp {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+
+    CalendarHttp(ObjectMapper objectMapper,
+                 @Value("${scheduler.calendar-sync.connect-timeout-ms:5000}") long connectTimeoutMillis,
+                 @Value("${scheduler.calendar-sync.request-timeout-ms:30000}") long requestTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    static HttpRequest.Builder request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri));
+    }
+
+    /**
+     * Sends the request and returns the response when its status is 2xx or one of
+     * {@code accepted}; anything else becomes a CalendarSyncException.
+     */
+    HttpResponse<String> send(HttpRequest.Builder request, int... accepted) throws IOException {
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.timeout(requestTimeout).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling the calendar provider", e);
+        }
+        int status = response.statusCode();
+        if ((status >= 200 && status < 300) || Arrays.stream(accepted).anyMatch(code -> code == status)) {
+            return response;
+        }
+        String where = response.request().method() + " " + response.request().uri().getPath();
+        throw switch (status) {
+            case 401, 403 -> new CalendarSyncException(CalendarSyncException.Reason.UNAUTHORIZED,
+                "Calendar provider rejected the credentials (" + status + " on " + where + ")");
+            case 410 -> new CalendarSyncException(CalendarSyncException.Reason.TOKEN_EXPIRED,
+                "Sync token expired (" + where + ")");
+            case 429, 503 -> new CalendarSyncException(CalendarSyncException.Reason.RATE_LIMITED,
+                "Calendar provider is throttling (" + status + " on " + where + ")", retryAfter(response));
+            default -> new CalendarSyncException(CalendarSyncException.Reason.FAILED,
+                "Calendar provider returned " + status + " on " + where);
+        };
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    String json(Object value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    /** Next and delta links carry the credentials, so they must point back at the provider. */
+    static void checkSameOrigin(String link, String baseUrl) throws CalendarSyncException {
+        URI target = URI.create(link);
+        URI base = URI.create(baseUrl);
+        if (!base.getScheme().equalsIgnoreCase(target.getScheme()) || !base.getAuthority().equalsIgnoreCase(target.getAuthority())) {
+            throw new CalendarSyncException(CalendarSyncException.Reason.FAILED, "Provider returned a link to another host: " + link);
+        }
+    }
+
+    // Only the delta-seconds form; an HTTP date falls back to the normal backoff
+    private static Duration retryAfter(HttpResponse<String> response) {
+        return response.headers().firstValue("Retry-After")
+            .filter(value -> value.trim().matches("\\d+"))
+            .map(value -> Duration.ofSeconds(Long.parseLong(value.trim())))
+            .orElse(null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.dto.CreateCalendarIntegrationRequest;
+import com.meetingscheduler.entity.CalendarIntegration;
+import com.meetingscheduler.entity.ExternalBusySlot;
+import com.meetingscheduler.repository.CalendarIntegrationRepository;
+import com.meetingscheduler.repository.ExternalBusySlotRepository;
+import com.meetingscheduler.repository.ExternalEventLinkRepository;
+import com.meetingscheduler.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarIntegrationService {
+    
+    private final CalendarIntegrationRepository integrationRepository;
+    private final ExternalBusySlotRepository busySlotRepository;
+    private final ExternalEventLinkRepository eventLinkRepository;
+    private final UserRepository userRepository;
+    
+    @Transactional
+    public CalendarIntegration createIntegration(UUID userId, CreateCalendarIntegrationRequest request) {
+        log.info("Connecting {} for user ID: {}", request.getCalendarType(), userId);
+        
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        String calendarId = request.getCalendarId() != null && !request.getCalendarId().isBlank()
+            ? request.getCalendarId().trim() : null;
+        if (request.getCalendarType() == CalendarIntegration.CalendarType.APPLE_CALENDAR) {
+            if (calendarId == null) {
+                throw new IllegalArgumentException("Apple calendars need the calendar collection path");
+            }
+            if (!request.getAuthToken().contains(":")) {
+                throw new IllegalArgumentException("Apple calendars need the auth token as user:app-password");
+            }
+        }
+        
+        CalendarIntegration integration = new CalendarIntegration();
+        integration.setUserId(userId);
+        integration.setCalendarType(request.getCalendarType());
+        integration.setAuthToken(request.getAuthToken());
+        integration.setCalendarId(calendarId);
+        // First sync (a full pull) on the next poll
+        integration.setNextSyncAt(LocalDateTime.now());
+        return integrationRepository.save(integration);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CalendarIntegration> getIntegrationsByUser(UUID userId) {
+        return integrationRepository.findByUserIdOrderByCreatedAtAsc(userId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ExternalBusySlot> getBusySlotsByUser(UUID userId) {
+        return busySlotRepository.findByUserIdAndEndTimeAfterOrderByStartTimeAsc(userId, LocalDateTime.now());
+    }
+    
+    /** Events already pushed to the calendar stay there; only our side is removed. */
+    @Transactional
+    public void deleteIntegration(UUID integrationId, UUID userId) {
+        log.info("Disconnecting calendar integration {} for user ID: {}", integrationId, userId);
+        CalendarIntegration integration = findOwned(integrationId, userId);
+        busySlotRepository.deleteByIntegrationId(integrationId);
+        eventLinkRepository.deleteByIntegrationId(integrationId);
+        integrationRepository.delete(integration);
+    }
+    
+    /** Syncs on the next poll, also when the integration is backing off after failures. */
+    @Transactional
+    public CalendarIntegration requestSync(UUID integrationId, UUID userId) {
+        CalendarIntegration integration = findOwned(integrationId, userId);
+        if (!Boolean.TRUE.equals(integration.getIsActive())) {
+            throw new IllegalArgumentException("Calendar integration is not active");
+        }
+        integration.setNextSyncAt(LocalDateTime.now());
+        integration.setFailureCount(0);
+        return integrationRepository.save(integration);
+    }
+    
+    /** Called in the transaction that deletes the user. */
+    public void userRemoved(UUID userId) {
+        busySlotRepository.deleteByUserId(userId);
+        eventLinkRepository.deleteByUserId(userId);
+        integrationRepository.deleteByUserId(userId);
+    }
+    
+    private CalendarIntegration findOwned(UUID integrationId, UUID userId) {
+        CalendarIntegration integration = integrationRepository.findById(integrationId)
+            .orElseThrow(() -> new IllegalArgumentException("Calendar integration not found with ID: " + integrationId));
+        if (!userId.equals(integration.getUserId())) {
+            throw new IllegalArgumentException("You can only manage your own calendar integrations");
+        }
+        return integration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.meetingscheduler.service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/** A provider call that failed in a way the sync engine reacts to. */
+class CalendarSyncException extends IOException {
+
+    enum Reason {
+        /** The sync token is no longer valid; pull everything again. */
+        TOKEN_EXPIRED,
+        /** The stored credentials were rejected. */
+        UNAUTHORIZED,
+        /** Throttled; retry no sooner than retryAfter, when given. */
+        RATE_LIMITED,
+        FAILED
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    CalendarSyncException(Reason reason, String message) {
+        this(reason, message, null);
+    }
+
+    CalendarSyncException(Reason reason, String message, Duration retryAfter) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    Reason reason() {
+        return reason;
+    }
+
+    Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,396 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.CalendarIntegration;
+import com.meetingscheduler.repository.CalendarIntegrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps external calendars and the user's schedules in step, one integration at a time on a
+ * small worker pool:
+ * <ul>
+ *   <li>pull: the provider's changes since the stored sync token, page by page, merged into
+ *   external_busy_slots (which the optimizer treats as occupied). Each page commits on its
+ *   own and re-applying one is harmless, so a failed pull just starts again from the token.
+ *   When the provider drops the token, everything is pulled again and rows it no longer
+ *   lists are removed.</li>
+ *   <li>push: upcoming schedules that are new or changed since they were last sent are
+ *   written to the calendar, and events of schedules that no longer exist are removed.</li>
+ * </ul>
+ * Due integrations are claimed with a lease (FOR UPDATE SKIP LOCKED), so nodes never sync the
+ * same one at once. A long sync renews its lease between pages and pushes, and its outcome is
+ * only written while it still holds the lease: a node that stalled past it leaves the
+ * integration to whichever node claimed it next. A failed sync is retried with exponential
+ * backoff per integration.
+ */
+@Service
+@Slf4j
+public class CalendarSyncService {
+
+    private static final String CLAIM =
+        "UPDATE calendar_integrations SET lease_until = ? WHERE id IN (" +
+        "SELECT id FROM calendar_integrations WHERE is_active = true AND user_id IS NOT NULL " +
+        "AND (next_sync_at IS NULL OR next_sync_at <= ?) AND (lease_until IS NULL OR lease_until < ?) " +
+        "ORDER BY next_sync_at NULLS FIRST LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private static final String RENEW =
+        "UPDATE calendar_integrations SET lease_until = ? WHERE id = ? AND lease_until = ?";
+
+    // A sync requested while this one ran (next_sync_at moved past the claim) still happens
+    private static final String SUCCEEDED =
+        "UPDATE calendar_integrations SET lease_until = NULL, failure_count = 0, last_error = NULL, last_synced_at = ?, " +
+        "next_sync_at = CASE WHEN next_sync_at > ? THEN next_sync_at ELSE ? END WHERE id = ? AND lease_until = ?";
+
+    private static final String FAILED =
+        "UPDATE calendar_integrations SET lease_until = NULL, failure_count = ?, last_error = ?, next_sync_at = ? " +
+        "WHERE id = ? AND lease_until = ?";
+
+    private static final String SAVE_SYNC_TOKEN =
+        "UPDATE calendar_integrations SET sync_token = ? WHERE id = ?";
+
+    private static final String UPSERT_BUSY =
+        "INSERT INTO external_busy_slots (id, integration_id, user_id, external_id, start_time, end_time, synced_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (integration_id, external_id) " +
+        "DO UPDATE SET start_time = EXCLUDED.start_time, end_time = EXCLUDED.end_time, synced_at = EXCLUDED.synced_at";
+
+    private static final String DELETE_BUSY =
+        "DELETE FROM external_busy_slots WHERE integration_id = ? AND external_id = ?";
+
+    private static final String SWEEP_BUSY =
+        "DELETE FROM external_busy_slots WHERE integration_id = ? AND (synced_at < ? OR end_time < ?)";
+
+    private static final String PRUNE_BUSY =
+        "DELETE FROM external_busy_slots WHERE integration_id = ? AND end_time < ?";
+
+    private static final String LINKS =
+        "SELECT schedule_id, external_id, fingerprint FROM external_event_links WHERE integration_id = ?";
+
+    private static final String UPCOMING_SCHEDULES =
+        "SELECT s.id, s.scheduled_start, s.scheduled_end, m.title, m.description " +
+        "FROM schedules s JOIN meetings m ON m.id = s.meeting_id WHERE s.user_id = ? AND s.scheduled_end > ?";
+
+    private static final String ORPHANED_LINKS =
+        "SELECT l.schedule_id, l.external_id, l.fingerprint FROM external_event_links l " +
+        "LEFT JOIN schedules s ON s.id = l.schedule_id WHERE l.integration_id = ? AND s.id IS NULL";
+
+    private static final String SAVE_LINK =
+        "INSERT INTO external_event_links (id, integration_id, schedule_id, external_id, fingerprint) VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (integration_id, schedule_id) DO UPDATE SET external_id = EXCLUDED.external_id, fingerprint = EXCLUDED.fingerprint";
+
+    private static final String DELETE_LINK =
+        "DELETE FROM external_event_links WHERE integration_id = ? AND schedule_id = ?";
+
+    private static final String REQUEST_SYNC =
+        "UPDATE calendar_integrations SET next_sync_at = ? WHERE user_id = ? AND is_active = true AND failure_count = 0";
+
+    private final CalendarIntegrationRepository integrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Map<CalendarIntegration.CalendarType, CalendarClient> clients;
+    private final ThreadPoolExecutor workers;
+    private final AtomicInteger running = new AtomicInteger();
+    private final int workerCount;
+    private final Duration interval;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter lost;
+
+    public CalendarSyncService(CalendarIntegrationRepository integrationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               List<CalendarClient> clients,
+                               MeterRegistry meterRegistry,
+                               @Value("${scheduler.calendar-sync.workers:4}") int workerCount,
+                               @Value("${scheduler.calendar-sync.interval-ms:300000}") long intervalMillis,
+                               @Value("${scheduler.calendar-sync.lease-ms:600000}") long leaseMillis,
+                               @Value("${scheduler.calendar-sync.backoff-base-ms:30000}") long baseBackoffMillis,
+                               @Value("${scheduler.calendar-sync.backoff-max-ms:3600000}") long maxBackoffMillis) {
+        this.integrationRepository = integrationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clients = clients.stream().collect(Collectors.toMap(CalendarClient::type, Function.identity()));
+        this.workerCount = workerCount;
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        AtomicInteger threads = new AtomicInteger();
+        // Never more claimed than there are free workers, so the queue only absorbs races
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workerCount), r -> new Thread(r, "calendar-sync-" + threads.incrementAndGet()));
+        this.succeeded = Counter.builder("calendar.sync.runs").tag("outcome", "succeeded")
+            .description("External calendar syncs").register(meterRegistry);
+        this.failed = Counter.builder("calendar.sync.runs").tag("outcome", "failed")
+            .description("External calendar syncs").register(meterRegistry);
+        this.lost = Counter.builder("calendar.sync.runs").tag("outcome", "lease_lost")
+            .description("External calendar syncs").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.calendar-sync.poll-interval-ms:10000}")
+    public void dispatch() {
+        int free = workerCount - running.get();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp until = leaseUntil(now);
+            List<UUID> claimed = jdbcTemplate.queryForList(CLAIM, UUID.class,
+                until, Timestamp.valueOf(now), Timestamp.valueOf(now), free);
+            for (UUID integrationId : claimed) {
+                running.incrementAndGet();
+                try {
+                    workers.execute(() -> {
+                        try {
+                            sync(new Lease(integrationId, until), now);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // The lease runs out and another poll picks it up
+                    running.decrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Claiming calendar integrations failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Asks for the user's calendars to be synced soon, e.g. after their schedules changed.
+     * Integrations that are backing off keep their retry time.
+     */
+    public void requestSync(UUID userId) {
+        jdbcTemplate.update(REQUEST_SYNC, Timestamp.valueOf(LocalDateTime.now()), userId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void sync(Lease lease, LocalDateTime claimedAt) {
+        UUID integrationId = lease.integrationId;
+        CalendarIntegration integration = integrationRepository.findById(integrationId).orElse(null);
+        if (integration == null) {
+            return;
+        }
+        CalendarClient client = clients.get(integration.getCalendarType());
+        try {
+            if (client == null) {
+                throw new CalendarSyncException(CalendarSyncException.Reason.FAILED,
+                    "No client for calendar type " + integration.getCalendarType());
+            }
+            pull(integration, client, lease);
+            push(integration, client, lease);
+            LocalDateTime now = LocalDateTime.now();
+            if (jdbcTemplate.update(SUCCEEDED, Timestamp.valueOf(now), Timestamp.valueOf(claimedAt),
+                    Timestamp.valueOf(now.plus(interval)), integrationId, lease.until) == 0) {
+                throw new LeaseLost();
+            }
+            succeeded.increment();
+        } catch (LeaseLost e) {
+            // Another node has claimed it since; its outcome is the one that counts
+            log.warn("Calendar sync of integration {} lost its lease, leaving it to the node that holds it", integrationId);
+            lost.increment();
+        } catch (Exception e) {
+            int failures = (integration.getFailureCount() != null ? integration.getFailureCount() : 0) + 1;
+            Duration delay = backoff(failures, e);
+            log.warn("Calendar sync of integration {} failed (attempt {}), retrying in {}s: {}",
+                integrationId, failures, delay.toSeconds(), e.getMessage());
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (jdbcTemplate.update(FAILED, failures, error.length() > 1000 ? error.substring(0, 1000) : error,
+                    Timestamp.valueOf(LocalDateTime.now().plus(delay)), integrationId, lease.until) == 0) {
+                log.warn("Calendar sync of integration {} lost its lease, leaving it to the node that holds it", integrationId);
+                lost.increment();
+                return;
+            }
+            failed.increment();
+        }
+    }
+
+    private void pull(CalendarIntegration integration, CalendarClient client, Lease lease) throws IOException {
+        Set<String> pushed = links(integration.getId()).values().stream().map(Link::externalId).collect(Collectors.toSet());
+        String syncToken = integration.getSyncToken();
+        String pageToken = null;
+        LocalDateTime started = LocalDateTime.now();
+        int changed = 0;
+        while (true) {
+            lease.keep();
+            CalendarClient.ChangePage page;
+            try {
+                page = client.changes(integration, syncToken, pageToken);
+            } catch (CalendarSyncException e) {
+                if (e.reason() != CalendarSyncException.Reason.TOKEN_EXPIRED || syncToken == null) {
+                    throw e;
+                }
+                log.info("Sync token of integration {} expired, pulling everything again", integration.getId());
+                syncToken = null;
+                pageToken = null;
+                continue;
+            }
+            List<CalendarClient.Change> changes = page.changes().stream()
+                .filter(change -> !pushed.contains(change.externalId()))
+                .toList();
+            changed += changes.size();
+            String finalSyncToken = page.nextSyncToken();
+            boolean full = syncToken == null;
+            transaction.executeWithoutResult(status -> {
+                apply(integration, changes, started);
+                if (finalSyncToken != null) {
+                    if (full) {
+                        // Whatever this full pull didn't list is gone
+                        jdbcTemplate.update(SWEEP_BUSY, integration.getId(), Timestamp.valueOf(started),
+                            Timestamp.valueOf(started));
+                    } else {
+                        jdbcTemplate.update(PRUNE_BUSY, integration.getId(), Timestamp.valueOf(started));
+                    }
+                    jdbcTemplate.update(SAVE_SYNC_TOKEN, finalSyncToken, integration.getId());
+                }
+            });
+            if (finalSyncToken != null || page.nextPageToken() == null) {
+                break;
+            }
+            pageToken = page.nextPageToken();
+        }
+        log.info("Pulled {} changes for calendar integration {}", changed, integration.getId());
+    }
+
+    private void apply(CalendarIntegration integration, List<CalendarClient.Change> changes, LocalDateTime syncedAt) {
+        Timestamp seen = Timestamp.valueOf(syncedAt);
+        for (CalendarClient.Change change : changes) {
+            // Past events can't block anything, so they are not kept
+            if (change.busy() && change.end().isAfter(syncedAt) && change.end().isAfter(change.start())) {
+                jdbcTemplate.update(UPSERT_BUSY, UUID.randomUUID(), integration.getId(), integration.getUserId(),
+                    change.externalId(), Timestamp.valueOf(change.start()), Timestamp.valueOf(change.end()), seen);
+            } else {
+                jdbcTemplate.update(DELETE_BUSY, integration.getId(), change.externalId());
+            }
+        }
+    }
+
+    private void push(CalendarIntegration integration, CalendarClient client, Lease lease) throws IOException {
+        Map<UUID, Link> links = links(integration.getId());
+        int sent = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(UPCOMING_SCHEDULES, integration.getUserId(),
+                Timestamp.valueOf(LocalDateTime.now()))) {
+            UUID scheduleId = (UUID) row.get("id");
+            CalendarClient.Event event = new CalendarClient.Event(scheduleId.toString(), (String) row.get("title"),
+                (String) row.get("description"), ((Timestamp) row.get("scheduled_start")).toLocalDateTime(),
+                ((Timestamp) row.get("scheduled_end")).toLocalDateTime());
+            String fingerprint = fingerprint(event);
+            Link link = links.get(scheduleId);
+            if (link != null && link.fingerprint().equals(fingerprint)) {
+                continue;
+            }
+            lease.keep();
+            String externalId = client.upsert(integration, link != null ? link.externalId() : null, event);
+            // Saved straight away, so a later failure doesn't lose track of the event
+            jdbcTemplate.update(SAVE_LINK, UUID.randomUUID(), integration.getId(), scheduleId, externalId, fingerprint);
+            sent++;
+        }
+        int removed = 0;
+        for (Link orphan : jdbcTemplate.query(ORPHANED_LINKS, (rs, i) -> new Link(rs.getObject(1, UUID.class),
+                rs.getString(2), rs.getString(3)), integration.getId())) {
+            lease.keep();
+            client.delete(integration, orphan.externalId());
+            jdbcTemplate.update(DELETE_LINK, integration.getId(), orphan.scheduleId());
+            removed++;
+        }
+        log.info("Pushed {} schedules to calendar integration {} and removed {}", sent, integration.getId(), removed);
+    }
+
+    private Map<UUID, Link> links(UUID integrationId) {
+        Map<UUID, Link> links = new HashMap<>();
+        jdbcTemplate.query(LINKS, rs -> {
+            Link link = new Link(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3));
+            links.put(link.scheduleId(), link);
+        }, integrationId);
+        return links;
+    }
+
+    private Duration backoff(int failures, Exception e) {
+        long exponential = baseBackoff.toMillis() << Math.min(failures - 1, 20);
+        long millis = Math.min(exponential, maxBackoff.toMillis());
+        // Jitter, so integrations that failed together don't retry together
+        millis = (long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+        if (e instanceof CalendarSyncException sync && sync.retryAfter() != null) {
+            millis = Math.max(millis, sync.retryAfter().toMillis());
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    private static String fingerprint(CalendarClient.Event event) {
+        String content = event.start() + "|" + event.end() + "|" + event.title() + "|" + event.description();
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Millisecond precision, so the value the database stores compares equal to this one
+    private Timestamp leaseUntil(LocalDateTime now) {
+        return Timestamp.valueOf(now.plus(lease).truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private record Link(UUID scheduleId, String externalId, String fingerprint) {
+    }
+
+    /** The lease this node holds on one integration, as stored in lease_until. */
+    private final class Lease {
+
+        private final UUID integrationId;
+        private Timestamp until;
+
+        Lease(UUID integrationId, Timestamp until) {
+            this.integrationId = integrationId;
+            this.until = until;
+        }
+
+        /** Renews the lease once half of it is used up; throws LeaseLost if it is no longer ours. */
+        void keep() {
+            LocalDateTime now = LocalDateTime.now();
+            if (now.isBefore(until.toLocalDateTime().minus(lease.dividedBy(2)))) {
+                return;
+            }
+            Timestamp renewed = leaseUntil(now);
+            if (jdbcTemplate.update(RENEW, renewed, integrationId, until) == 0) {
+                throw new LeaseLost();
+            }
+            until = renewed;
+        }
+    }
+
+    private static class LeaseLost extends RuntimeException {
+    }
+}
@@ -0,0 +1,136 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.ResourceVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes and pages the change_log table behind the delta sync endpoint.
+ *
+ * Entries are read in (tx_id, id) order and only up to the oldest transaction still running
+ * (the snapshot xmin). Serial ids are handed out before commit, so a plain "id > cursor" scan
+ * could step past a row that commits later; every transaction below xmin has finished, so
+ * nothing can appear behind a cursor taken there.
+ */
+@Service
+@Slf4j
+public class ChangeLogService {
+
+    private static final String RECORD =
+        "INSERT INTO change_log (tx_id, user_id, resource, entity_id, deleted, created_at) " +
+        "VALUES (pg_current_xact_id()::text::bigint, ?, ?, ?, ?, now())";
+
+    private static final String HORIZON = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String PAGE =
+        "SELECT tx_id, id, resource, entity_id, deleted FROM change_log " +
+        "WHERE user_id = ? AND (tx_id, id) > (?, ?) AND tx_id < ? ORDER BY tx_id, id LIMIT ?";
+
+    private static final String PRUNE =
+        "DELETE FROM change_log WHERE id IN (SELECT id FROM change_log WHERE created_at < ? LIMIT ?)";
+
+    private static final int PRUNE_BATCH = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    public ChangeLogService(JdbcTemplate jdbcTemplate,
+                            @Value("${scheduler.sync.retention-days:30}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /** Must run inside the writing transaction so the entries commit (or roll back) with it. */
+    public void recordUpserts(UUID userId, ResourceVersion.Resource resource, Collection<UUID> entityIds) {
+        record(userId, resource, entityIds, false);
+    }
+
+    public void recordDeletes(UUID userId, ResourceVersion.Resource resource, Collection<UUID> entityIds) {
+        record(userId, resource, entityIds, true);
+    }
+
+    private void record(UUID userId, ResourceVersion.Resource resource, Collection<UUID> entityIds, boolean deleted) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RECORD, entityIds.stream()
+            .map(entityId -> new Object[]{userId, resource.name(), entityId, deleted})
+            .toList());
+    }
+
+    /** Cursor covering everything committed so far; taken before a full load it may repeat, never miss. */
+    public Cursor horizon() {
+        Long xmin = jdbcTemplate.queryForObject(HORIZON, Long.class);
+        return new Cursor(xmin - 1, Long.MAX_VALUE, Instant.now().getEpochSecond());
+    }
+
+    /** Entries after the cursor, oldest first; returns at most {@code limit} of them. */
+    public List<Entry> page(UUID userId, Cursor after, Cursor horizon, int limit) {
+        return jdbcTemplate.query(PAGE, (rs, rowNum) -> new Entry(
+                rs.getLong("tx_id"), rs.getLong("id"),
+                ResourceVersion.Resource.valueOf(rs.getString("resource")),
+                rs.getObject("entity_id", UUID.class), rs.getBoolean("deleted")),
+            userId, after.txId(), after.id(), horizon.txId() + 1, limit);
+    }
+
+    /** False if entries this cursor still needs may already have been pruned. */
+    public boolean isCurrent(Cursor cursor) {
+        // A day of slack covers transactions that were still open when the cursor was issued
+        Instant oldestSafe = Instant.now().minus(retention).plus(Duration.ofDays(1));
+        return Instant.ofEpochSecond(cursor.issuedAt()).isAfter(oldestSafe);
+    }
+
+    @Scheduled(cron = "${scheduler.sync.prune-cron:0 30 3 * * *}")
+    public void prune() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        int total = 0;
+        int deleted;
+        do {
+            // Small batches keep each delete's locks and WAL burst short
+            deleted = jdbcTemplate.update(PRUNE, cutoff, PRUNE_BATCH);
+            total += deleted;
+        } while (deleted == PRUNE_BATCH);
+        if (total > 0) {
+            log.info("Pruned {} change log entries older than {}", total, cutoff);
+        }
+    }
+
+    public record Entry(long txId, long id, ResourceVersion.Resource resource, UUID entityId, boolean deleted) {
+    }
+
+    /** Position in a user's change log, passed to clients as an opaque "tx.id.issuedAt" string. */
+    public record Cursor(long txId, long id, long issuedAt) {
+
+        public static Cursor parse(String value) {
+            String[] parts = value.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid sync cursor: " + value);
+            }
+            try {
+                return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sync cursor: " + value);
+            }
+        }
+
+        public Cursor after(Entry entry) {
+            return new Cursor(entry.txId(), entry.id(), issuedAt);
+        }
+
+        @Override
+        public String toString() {
+            return txId + "." + id + "." + issuedAt;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.meetingscheduler.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meetingscheduler.config.AsyncReads;
+import com.meetingscheduler.dto.DashboardResponse;
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Notification;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.repository.AvailabilityRepository;
+import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.NotificationRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the executive dashboard and keeps the last view per user in memory. A cached view
+ * carries the version stamps it was built from and is used only while they are all still
+ * current, so any write to one of the four resources (on any node) retires it; the unread
+ * count is always taken live from UnreadNotificationCounter. Each part is read at least as new
+ * as its stamp (on the primary if its replica lags), so a view is never cached under stamps
+ * newer than its data.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+    
+    private static final ResourceVersion.Resource[] RESOURCES = {
+        ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES,
+        ResourceVersion.Resource.AVAILABILITY, ResourceVersion.Resource.NOTIFICATIONS
+    };
+    
+    private static final Comparator<Meeting> PENDING_ORDER = Comparator
+        .comparing(Meeting::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(Meeting::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    private final MeetingRepository meetingRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPartitionManager partitionManager;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ResourceVersionService resourceVersions;
+    private final AsyncReads asyncReads;
+    
+    private final Cache<UUID, CachedView> views;
+    private final Counter served;
+    private final Counter assembled;
+    
+    public DashboardService(MeetingRepository meetingRepository,
+                            ScheduleRepository scheduleRepository,
+                            AvailabilityRepository availabilityRepository,
+                            NotificationRepository notificationRepository,
+                            NotificationPartitionManager partitionManager,
+                            UnreadNotificationCounter unreadCounter,
+                            ResourceVersionService resourceVersions,
+                            AsyncReads asyncReads,
+                            MeterRegistry meterRegistry,
+                            @Value("${scheduler.dashboard.cache-size:10000}") long cacheSize,
+                            @Value("${scheduler.dashboard.idle-expiry-ms:600000}") long idleExpiryMillis) {
+        this.meetingRepository = meetingRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.notificationRepository = notificationRepository;
+        this.partitionManager = partitionManager;
+        this.unreadCounter = unreadCounter;
+        this.resourceVersions = resourceVersions;
+        this.asyncReads = asyncReads;
+        this.views = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterAccess(Duration.ofMillis(idleExpiryMillis))
+            .build();
+        // Counted here rather than by the cache: a stale entry is a lookup hit but still a rebuild
+        this.served = Counter.builder("dashboard.views")
+            .tag("result", "cached")
+            .description("Dashboards served from a still-current cached view")
+            .register(meterRegistry);
+        this.assembled = Counter.builder("dashboard.views")
+            .tag("result", "assembled")
+            .description("Dashboards loaded from the database")
+            .register(meterRegistry);
+    }
+    
+    public CompletableFuture<DashboardResponse> getDashboard(UUID userId) {
+        // Read before any data, so a write racing the load leaves the view stamped too old, never too new
+        ResourceVersionService.Stamp[] stamps = Arrays.stream(RESOURCES)
+            .map(resource -> resourceVersions.stamp(userId, resource))
+            .toArray(ResourceVersionService.Stamp[]::new);
+        CachedView cached = views.getIfPresent(userId);
+        if (cached != null && Arrays.equals(cached.stamps(), stamps)) {
+            served.increment();
+            return CompletableFuture.completedFuture(cached.toResponse(unreadCounter.get(userId)));
+        }
+        
+        log.info("Assembling dashboard for user ID: {}", userId);
+        assembled.increment();
+        CompletableFuture<List<Meeting>> meetings =
+            load(stamps[0], () -> meetingRepository.findWithUserByUserId(userId));
+        CompletableFuture<List<Schedule>> schedules =
+            load(stamps[1], () -> scheduleRepository.findWithMeetingAndUserByUserIdOrderByOptimizationScoreDesc(userId));
+        CompletableFuture<List<Availability>> availability =
+            load(stamps[2], () -> availabilityRepository.findWithUserByUserIdOrderByStartTimeAsc(userId));
+        CompletableFuture<List<Notification>> notifications =
+            load(stamps[3], () -> notificationRepository.findWithUserByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId, partitionManager.retentionCutoff()));
+        
+        return CompletableFuture.allOf(meetings, schedules, availability, notifications).thenApply(done -> {
+            List<Meeting> pending = meetings.join().stream()
+                .filter(meeting -> meeting.getStatus() == Meeting.MeetingStatus.pending)
+                .sorted(PENDING_ORDER)
+                .toList();
+            CachedView view = new CachedView(stamps, meetings.join(), pending, schedules.join(),
+                availability.join(), notifications.join());
+            views.put(userId, view);
+            return view.toResponse(unreadCounter.get(userId));
+        });
+    }
+    
+    // Each part on its own read-pool thread and transaction; entity graphs load everything the JSON needs
+    private <T> CompletableFuture<List<T>> load(ResourceVersionService.Stamp stamp, Supplier<List<T>> query) {
+        return CompletableFuture.supplyAsync(() -> resourceVersions.readAtLeast(stamp, query), asyncReads.executor());
+    }
+    
+    private record CachedView(ResourceVersionService.Stamp[] stamps, List<Meeting> meetings, List<Meeting> pendingMeetings,
+                              List<Schedule> schedules, List<Availability> availability,
+                              List<Notification> notifications) {
+        
+        DashboardResponse toResponse(long unreadCount) {
+            return new DashboardResponse(meetings, pendingMeetings, schedules, availability, notifications, unreadCount);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.meetingscheduler.entity.CalendarIntegration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Google Calendar API v3. Pulls use events.list with syncToken and pageToken (a 410 means
+ * the token expired); recurring events come expanded into instances. Pushed events get the
+ * schedule id as their event id, so a create that is retried finds the event already there.
+ */
+@Component
+class GoogleCalendarClient implements CalendarClient {
+
+    private static final String PRIMARY = "primary";
+
+    private final CalendarHttp http;
+    private final String baseUrl;
+
+    GoogleCalendarClient(CalendarHttp http,
+                         @Value("${scheduler.calendar-sync.google.base-url:https://www.googleapis.com/calendar/v3}") String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public CalendarIntegration.CalendarType type() {
+        return CalendarIntegration.CalendarType.GOOGLE_CALENDAR;
+    }
+
+    @Override
+    public ChangePage changes(CalendarIntegration integration, String syncToken, String pageToken) throws IOException {
+        StringBuilder uri = new StringBuilder(events(integration)).append("?singleEvents=true&maxResults=250");
+        if (syncToken != null) {
+            uri.append("&syncToken=").append(encode(syncToken));
+        }
+        if (pageToken != null) {
+            uri.append("&pageToken=").append(encode(pageToken));
+        }
+        JsonNode body = http.json(http.send(authorized(integration, CalendarHttp.request(uri.toString()).GET())));
+        List<Change> changes = new ArrayList<>();
+        for (JsonNode item : body.path("items")) {
+            boolean busy = !"cancelled".equals(item.path("status").asText())
+                && !"transparent".equals(item.path("transparency").asText());
+            LocalDateTime start = time(item.path("start"));
+            LocalDateTime end = time(item.path("end"));
+            changes.add(new Change(item.path("id").asText(), start, end, busy && start != null && end != null));
+        }
+        return new ChangePage(changes, text(body, "nextPageToken"), text(body, "nextSyncToken"));
+    }
+
+    @Override
+    public String upsert(CalendarIntegration integration, String externalId, Event event) throws IOException {
+        // Event ids are base32hex; a UUID's hex digits without the dashes qualify
+        String id = externalId != null ? externalId : event.key().replace("-", "");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", id);
+        body.put("summary", event.title());
+        body.put("description", event.description());
+        body.put("start", Map.of("dateTime", offset(event.start())));
+        body.put("end", Map.of("dateTime", offset(event.end())));
+        String json = http.json(body);
+        if (externalId == null) {
+            HttpResponse<String> created = http.send(authorized(integration, CalendarHttp.request(events(integration))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))), 409);
+            if (created.statusCode() != 409) {
+                return id;
+            }
+        }
+        http.send(authorized(integration, CalendarHttp.request(events(integration) + "/" + encode(id))
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString(json))));
+        return id;
+    }
+
+    @Override
+    public void delete(CalendarIntegration integration, String externalId) throws IOException {
+        http.send(authorized(integration, CalendarHttp.request(events(integration) + "/" + encode(externalId)).DELETE()), 404, 410);
+    }
+
+    private String events(CalendarIntegration integration) {
+        String calendarId = integration.getCalendarId() != null ? integration.getCalendarId() : PRIMARY;
+        return baseUrl + "/calendars/" + encode(calendarId) + "/events";
+    }
+
+    private static HttpRequest.Builder authorized(CalendarIntegration integration, HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + integration.getAuthToken());
+    }
+
+    // dateTime carries an offset; all-day events only have a date
+    private static LocalDateTime time(JsonNode node) {
+        if (node.hasNonNull("dateTime")) {
+            return OffsetDateTime.parse(node.get("dateTime").asText())
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (node.hasNonNull("date")) {
+            return LocalDate.parse(node.get("date").asText()).atStartOfDay();
+        }
+        return null;
+    }
+
+    private static String offset(LocalDateTime serverTime) {
+        return serverTime.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
+
+    private static String text(JsonNode body, String field) {
+        return body.hasNonNull(field) ? body.get(field).asText() : null;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,243 @@
+package com.meetingscheduler.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns each VEVENT or VTODO of an iCalendar (RFC 5545) file into an import row with the
+ * same fields as the CSV and NDJSON formats:
+ * <ul>
+ *   <li>title and description from SUMMARY and DESCRIPTION</li>
+ *   <li>startTime from DTSTART, endTime from DTEND (or DTSTART plus DURATION)</li>
+ *   <li>durationMinutes from DURATION, or the time between start and end</li>
+ *   <li>deadline from DUE, or the end time</li>
+ *   <li>priority from PRIORITY, where 1 (highest) to 9 map to 10 to 2; undefined becomes 5</li>
+ *   <li>status and transparency from STATUS and TRANSP, as they are; an event without TRANSP
+ *       is OPAQUE (busy), as RFC 5545 has it</li>
+ * </ul>
+ * Which of these matter is up to the import: see BulkImportService, which skips cancelled
+ * components and takes only transparent events as free time.
+ * UTC and TZID times are converted to server time; floating times are taken as they are.
+ * Nested components (alarms) are skipped.
+ */
+final class ICalendarReader extends ImportReader {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Pattern WEEKS = Pattern.compile("([+-]?)P(\\d+)W");
+    private static final String DEFAULT_PRIORITY = "5";
+
+    private final BufferedReader reader;
+    private long physicalLine;
+    private String lookahead;
+    private long lookaheadLine;
+    private long contentLine;
+
+    ICalendarReader(InputStream in) {
+        this.reader = lines(in);
+    }
+
+    @Override
+    protected Row read() throws IOException {
+        Map<String, Property> properties = null;
+        String component = null;
+        long begin = 0;
+        int depth = 0;
+        String line;
+        while ((line = nextContentLine()) != null) {
+            Property property = Property.parse(line);
+            if (property == null) {
+                continue;
+            }
+            if (properties == null) {
+                if (property.is("BEGIN") && (property.value.equalsIgnoreCase("VEVENT") || property.value.equalsIgnoreCase("VTODO"))) {
+                    properties = new HashMap<>();
+                    component = property.value;
+                    begin = contentLine;
+                }
+                continue;
+            }
+            if (property.is("BEGIN")) {
+                depth++;
+            } else if (property.is("END") && depth > 0) {
+                depth--;
+            } else if (property.is("END") && property.value.equalsIgnoreCase(component)) {
+                return toRow(begin, component, properties);
+            } else if (depth == 0) {
+                properties.putIfAbsent(property.name, property);
+            }
+        }
+        return properties == null ? null : new Row(begin, null, "Unterminated " + component);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row toRow(long line, String component, Map<String, Property> properties) {
+        try {
+            Map<String, String> fields = new HashMap<>();
+            putText(fields, "title", properties.get("SUMMARY"));
+            putText(fields, "description", properties.get("DESCRIPTION"));
+            putText(fields, "status", properties.get("STATUS"));
+            putText(fields, "transparency", properties.get("TRANSP"));
+            if (component.equalsIgnoreCase("VEVENT")) {
+                fields.putIfAbsent(key("transparency"), "OPAQUE");
+            }
+
+            LocalDateTime start = dateTime(properties.get("DTSTART"));
+            Duration duration = properties.containsKey("DURATION") ? duration(properties.get("DURATION").value) : null;
+            LocalDateTime end = dateTime(properties.get("DTEND"));
+            if (end == null && start != null && duration != null) {
+                end = start.plus(duration);
+            }
+            if (duration == null && start != null && end != null) {
+                duration = Duration.between(start, end);
+            }
+            LocalDateTime due = dateTime(properties.get("DUE"));
+
+            putValue(fields, "startTime", start);
+            putValue(fields, "endTime", end);
+            putValue(fields, "durationMinutes", duration != null ? duration.toMinutes() : null);
+            putValue(fields, "deadline", due != null ? due : end);
+            fields.put("priority", priority(properties.get("PRIORITY")));
+            return new Row(line, fields, null);
+        } catch (DateTimeException | IllegalArgumentException e) {
+            return new Row(line, null, e.getMessage());
+        }
+    }
+
+    // Physical lines starting with a space or tab continue the previous one
+    private String nextContentLine() throws IOException {
+        String line = lookahead != null ? lookahead : readPhysicalLine();
+        contentLine = lookahead != null ? lookaheadLine : physicalLine;
+        lookahead = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder unfolded = new StringBuilder(line);
+        String next;
+        while ((next = readPhysicalLine()) != null && (next.startsWith(" ") || next.startsWith("\t"))) {
+            unfolded.append(next, 1, next.length());
+        }
+        lookahead = next;
+        lookaheadLine = physicalLine;
+        return unfolded.toString();
+    }
+
+    private String readPhysicalLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            physicalLine++;
+        }
+        return line;
+    }
+
+    private static void putText(Map<String, String> fields, String name, Property property) {
+        if (property != null && !property.value.isBlank()) {
+            fields.put(key(name), unescape(property.value));
+        }
+    }
+
+    private static void putValue(Map<String, String> fields, String name, Object value) {
+        if (value != null) {
+            fields.put(key(name), value.toString());
+        }
+    }
+
+    private static String priority(Property property) {
+        if (property == null) {
+            return DEFAULT_PRIORITY;
+        }
+        try {
+            int priority = Integer.parseInt(property.value.trim());
+            return priority >= 1 && priority <= 9 ? Integer.toString(11 - priority) : DEFAULT_PRIORITY;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("PRIORITY must be a whole number: " + property.value);
+        }
+    }
+
+    private static LocalDateTime dateTime(Property property) {
+        if (property == null) {
+            return null;
+        }
+        String value = property.value.trim();
+        if (value.length() == 8) {
+            return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+        }
+        boolean utc = value.endsWith("Z");
+        LocalDateTime time = LocalDateTime.parse(utc ? value.substring(0, value.length() - 1) : value, DATE_TIME);
+        String tzid = property.params.get("TZID");
+        ZoneId zone = utc ? ZoneOffset.UTC : tzid != null ? ZoneId.of(tzid) : null;
+        return zone == null ? time : time.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static Duration duration(String value) {
+        Matcher weeks = WEEKS.matcher(value.trim());
+        if (weeks.matches()) {
+            Duration duration = Duration.ofDays(7 * Long.parseLong(weeks.group(2)));
+            return weeks.group(1).equals("-") ? duration.negated() : duration;
+        }
+        return Duration.parse(value.trim());
+    }
+
+    private static String unescape(String value) {
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /** NAME;PARAM=value;...:VALUE, with parameter values optionally quoted. */
+    private record Property(String name, Map<String, String> params, String value) {
+
+        static Property parse(String line) {
+            int colon = -1;
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ':' && !quoted) {
+                    colon = i;
+                    break;
+                }
+            }
+            if (colon < 0) {
+                return null;
+            }
+            String[] head = line.substring(0, colon).split(";");
+            Map<String, String> params = new HashMap<>();
+            for (int i = 1; i < head.length; i++) {
+                int equals = head[i].indexOf('=');
+                if (equals > 0) {
+                    params.put(head[i].substring(0, equals).toUpperCase(), head[i].substring(equals + 1).replace("\"", ""));
+                }
+            }
+            return new Property(head[0].trim().toUpperCase(), params, line.substring(colon + 1));
+        }
+
+        boolean is(String name) {
+            return this.name.equals(name);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.meetingscheduler.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) stream one content line at a time: CRLF line ends, lines
+ * folded at 75 octets without splitting a UTF-8 character, TEXT values escaped and times
+ * converted from server time to UTC. Nothing is held beyond the output buffer.
+ */
+final class ICalendarWriter implements Closeable {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] FOLD = {'\r', '\n', ' '};
+    private static final int MAX_OCTETS = 75;
+
+    private final OutputStream out;
+
+    ICalendarWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out);
+    }
+
+    void begin(String component) throws IOException {
+        line("BEGIN:" + component);
+    }
+
+    void end(String component) throws IOException {
+        line("END:" + component);
+    }
+
+    void property(String name, String value) throws IOException {
+        line(name + ":" + value);
+    }
+
+    /** Skipped when blank. */
+    void text(String name, String value) throws IOException {
+        if (value != null && !value.isBlank()) {
+            line(name + ":" + escape(value));
+        }
+    }
+
+    void dateTime(String name, LocalDateTime serverTime) throws IOException {
+        line(name + ":" + UTC.format(serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private void line(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            // Back up to the first byte of a character, never into a continuation byte
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write(FOLD);
+            start = end;
+            limit = MAX_OCTETS - 1; // the leading space counts
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write(CRLF);
+    }
+
+    private static String escape(String value) {
+        StringBuilder text = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> text.append('\\').append(c);
+                case '\n' -> text.append("\\n");
+                case '\r' -> { }
+                default -> text.append(c);
+            }
+        }
+        return text.toString();
+    }
+}
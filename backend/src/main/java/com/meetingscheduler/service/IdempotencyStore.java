@@ -0,0 +1,96 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Completed results of requests sent with an Idempotency-Key, kept for a configurable window
+ * in the idempotency_records table. Keys are scoped to the user. Only successful results are
+ * stored; a failed request can be retried with the same key.
+ */
+@Service
+@Slf4j
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String FIND =
+        "SELECT response FROM idempotency_records WHERE user_id = ? AND idempotency_key = ? AND created_at > ?";
+
+    // The first result for a key wins; a concurrent duplicate must not fail the caller's transaction
+    private static final String SAVE =
+        "INSERT INTO idempotency_records (id, user_id, idempotency_key, response, created_at) VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_id, idempotency_key) DO NOTHING";
+
+    private static final String PRUNE =
+        "DELETE FROM idempotency_records WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration window;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${scheduler.idempotency.window-ms:86400000}") long windowMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.window = Duration.ofMillis(windowMillis);
+    }
+
+    /** Rejects keys the table can't hold; a blank key counts as none. */
+    public static String normalize(String key) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
+
+    public <T> Optional<T> find(UUID userId, String key, Class<T> type) {
+        List<String> stored = jdbcTemplate.queryForList(FIND, String.class, userId, key,
+            Timestamp.valueOf(LocalDateTime.now().minus(window)));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(stored.get(0), type));
+        } catch (JsonProcessingException e) {
+            // Written by an incompatible version; run the request again rather than fail it
+            log.warn("Ignoring unreadable idempotency record for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Joins the caller's transaction, so the result is only kept if its writes commit. */
+    public void save(UUID userId, String key, Object response) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent result", e);
+        }
+        jdbcTemplate.update(SAVE, UUID.randomUUID(), userId, key, json, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.idempotency.prune-interval-ms:3600000}")
+    public void prune() {
+        int deleted = jdbcTemplate.update(PRUNE, Timestamp.valueOf(LocalDateTime.now().minus(window)));
+        if (deleted > 0) {
+            log.info("Pruned {} expired idempotency records", deleted);
+        }
+    }
+}
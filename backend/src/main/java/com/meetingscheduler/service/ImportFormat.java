@@ -0,0 +1,32 @@
+package com.meetingscheduler.service;
+
+import org.springframework.http.MediaType;
+
+/** Upload formats accepted by the bulk import endpoints, keyed by request Content-Type. */
+public enum ImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson"),
+    ICALENDAR("text/calendar");
+    
+    private final String mediaType;
+    
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public String mediaType() {
+        return mediaType;
+    }
+    
+    public static ImportFormat of(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (type.isCompatibleWith(MediaType.parseMediaType(format.mediaType))) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import type " + contentType + "; use text/csv, application/x-ndjson or text/calendar");
+    }
+}
@@ -0,0 +1,239 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an uploaded import one row at a time, so memory stays flat however large the file
+ * is. Field names are matched loosely ("durationMinutes", "duration_minutes" and
+ * "Duration Minutes" are the same field). A row that can't be parsed comes back with an
+ * error instead of ending the import; input the parser can't get past at all (an unclosed
+ * quote, say) throws {@link Unreadable}.
+ */
+public abstract class ImportReader implements Iterator<ImportReader.Row>, Closeable {
+
+    private Row next;
+
+    public static ImportReader open(ImportFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(in);
+            case NDJSON -> new Ndjson(in);
+            case ICALENDAR -> new ICalendarReader(in);
+        };
+    }
+
+    /** The next row, or null at the end of the input. */
+    protected abstract Row read() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    static String key(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (char c : name.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    static Map<String, String> fields(Map<String, ?> values) {
+        Map<String, String> fields = new HashMap<>();
+        values.forEach((name, value) -> {
+            if (value != null && !value.toString().isBlank()) {
+                fields.put(key(name), value.toString().trim());
+            }
+        });
+        return fields;
+    }
+
+    static BufferedReader lines(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /** One input row; {@code line} is where it starts in the file. */
+    public record Row(long line, Map<String, String> fields, String error) {
+
+        public String text(String name) {
+            return fields.get(key(name));
+        }
+
+        public Integer integer(String name) {
+            String value = text(name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be a whole number: " + value);
+            }
+        }
+
+        /** ISO date-time; with an offset it is converted to server time, a bare date means its start. */
+        public LocalDateTime dateTime(String name) {
+            String value = text(name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                if (value.length() == 10) {
+                    return LocalDate.parse(value).atStartOfDay();
+                }
+                if (value.endsWith("Z") || value.lastIndexOf('+') > 10 || value.lastIndexOf('-') > 10) {
+                    return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+                }
+                return LocalDateTime.parse(value);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException(name + " must be an ISO date-time: " + value);
+            }
+        }
+    }
+
+    /** Header row first; quoting as in RFC 4180, so quoted values may span lines. */
+    private static final class Csv extends ImportReader {
+
+        private final MappingIterator<Map<String, String>> rows;
+        // The last row that failed to parse, and where the parser was left by it
+        private String error;
+        private long errorLine;
+        private long errorOffset;
+
+        Csv(InputStream in) throws IOException {
+            this.rows = new CsvMapper().readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in);
+        }
+
+        @Override
+        protected Row read() throws IOException {
+            long start = rows.getParser().currentLocation().getLineNr();
+            try {
+                if (!rows.hasNextValue()) {
+                    if (error != null && offset() == errorOffset) {
+                        // The failed row ran to the end of the input, so the rows after it were swallowed
+                        throw new Unreadable(errorLine, error);
+                    }
+                    return null;
+                }
+                long line = rows.getCurrentLocation().getLineNr();
+                Row row = new Row(line, fields(rows.nextValue()), null);
+                error = null;
+                return row;
+            } catch (JsonProcessingException e) {
+                if (error != null && offset() == errorOffset) {
+                    // The parser can't get past this point
+                    throw new Unreadable(errorLine, error);
+                }
+                error = e.getOriginalMessage();
+                errorLine = start;
+                errorOffset = offset();
+                return new Row(start, null, error);
+            }
+        }
+
+        private long offset() {
+            return rows.getParser().currentLocation().getCharOffset();
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    /** One JSON object per line; blank lines are skipped. */
+    private static final class Ndjson extends ImportReader {
+
+        private static final ObjectReader JSON = new ObjectMapper().readerForMapOf(Object.class);
+
+        private final BufferedReader reader;
+        private long lineNr;
+
+        Ndjson(InputStream in) {
+            this.reader = lines(in);
+        }
+
+        @Override
+        protected Row read() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNr++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> values = JSON.readValue(line);
+                    return new Row(lineNr, fields(values), null);
+                } catch (JsonProcessingException e) {
+                    return new Row(lineNr, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * The input can't be read past the row starting at {@code line}; every row before it was
+     * read.
+     */
+    public static class Unreadable extends RuntimeException {
+
+        private final long line;
+
+        Unreadable(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
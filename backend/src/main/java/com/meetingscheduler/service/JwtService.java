@@ -0,0 +1,146 @@
+package com.meetingscheduler.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.meetingscheduler.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the signed (HS256) access tokens handed out at login. Everything the
+ * request filter needs (user id, role) is in the token, so verifying one touches neither the
+ * users nor the auth_services table. The signing key and parser are built once, and tokens
+ * already verified are remembered by their SHA-256 digest in a small bounded cache until
+ * they expire, so a repeat costs a hash and a lookup instead of an HMAC check and JSON parse.
+ * Because the role is read from the token, changing a user's role or deleting the user takes
+ * effect at their next login: tokens already issued keep working with the old role until they
+ * expire (spring.security.jwt.expiration, 24 hours by default).
+ */
+@Service
+@Slf4j
+public class JwtService {
+
+    private static final String ROLE = "role";
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Duration expiration;
+    private final Cache<ByteBuffer, Principal> verified;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtService(MeterRegistry meterRegistry,
+                      @Value("${spring.security.jwt.secret}") String secret,
+                      @Value("${spring.security.jwt.expiration:86400000}") long expirationMillis,
+                      @Value("${scheduler.security.verified-token-cache-size:10000}") long cacheSize,
+                      @Value("${scheduler.security.require-auth:false}") boolean requireAuth) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_KEY_BYTES && requireAuth) {
+            // Covers the default in application.yml too: anyone who knows it could sign tokens for any role
+            throw new IllegalStateException("JWT secret must be at least " + MIN_KEY_BYTES
+                + " bytes when scheduler.security.require-auth is on; set JWT_SECRET to a long random value");
+        }
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            // HS256 needs 256 bits; stretching a short secret keeps it working but adds no strength
+            log.warn("JWT secret is shorter than {} bytes; set JWT_SECRET to a long random value", MIN_KEY_BYTES);
+            keyBytes = sha256(keyBytes);
+        }
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expiration = Duration.ofMillis(expirationMillis);
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfter(new Expiry<ByteBuffer, Principal>() {
+                @Override
+                public long expireAfterCreate(ByteBuffer key, Principal principal, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(ByteBuffer key, Principal principal, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(ByteBuffer key, Principal principal, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        this.cacheHits = Counter.builder("auth.token.verifications").tag("result", "cached")
+            .description("Access token verifications").register(meterRegistry);
+        this.cacheMisses = Counter.builder("auth.token.verifications").tag("result", "verified")
+            .description("Access token verifications").register(meterRegistry);
+    }
+
+    public Token issue(User user) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(expiration);
+        String token = Jwts.builder()
+            .setSubject(user.getId().toString())
+            .claim(ROLE, user.getRole().name())
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(expiresAt))
+            .signWith(signingKey, SignatureAlgorithm.HS256)
+            .compact();
+        return new Token(token, expiresAt);
+    }
+
+    /** Empty when the token is malformed, wrongly signed or expired. */
+    public Optional<Principal> verify(String token) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256(token.getBytes(StandardCharsets.UTF_8)));
+        Principal cached = verified.getIfPresent(digest);
+        // The cache may hold an entry for a moment past its expiry
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            cacheHits.increment();
+            return Optional.of(cached);
+        }
+        cacheMisses.increment();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Principal principal = new Principal(UUID.fromString(claims.getSubject()),
+                User.UserRole.valueOf(claims.get(ROLE, String.class)), claims.getExpiration().toInstant());
+            verified.put(digest, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            log.debug("Rejected access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Token(String value, Instant expiresAt) {
+    }
+
+    public record Principal(UUID userId, User.UserRole role, Instant expiresAt) {
+    }
+}
@@ -3,9 +3,11 @@ package com.meetingscheduler.service;
 import com.meetingscheduler.entity.Meeting;
 import com.meetingscheduler.entity.User;
 import com.meetingscheduler.entity.Participation;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.entity.Schedule;
 import com.meetingscheduler.repository.MeetingRepository;
-import com.meetingscheduler.repository.NotificationRepository;
 import com.meetingscheduler.repository.ParticipationRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
 import com.meetingscheduler.repository.UserRepository;
 import com.meetingscheduler.entity.Notification;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +16,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -22,21 +29,44 @@ import java.util.UUID;
 @Slf4j
 public class MeetingService {
     
+    // Only open meetings can be completed or cancelled in bulk
+    private static final Set<Meeting.MeetingStatus> OPEN_STATUSES =
+            EnumSet.of(Meeting.MeetingStatus.pending, Meeting.MeetingStatus.scheduled);
+    
+    // title and description are varchar(255) columns
+    private static final int MAX_TEXT_LENGTH = 255;
+    
     private final MeetingRepository meetingRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationOutbox notificationOutbox;
     private final ParticipationRepository participationRepository;
+    private final ScheduleRepository scheduleRepository;
     private final UserRepository userRepository;
+    private final SystemStatisticsService statisticsService;
+    private final PushService pushService;
+    private final ResourceVersionService resourceVersions;
+    private final ChangeLogService changeLog;
     
+    @Transactional(readOnly = true)
     public List<Meeting> getMeetingsByUser(UUID userId) {
         log.info("Fetching meetings for user ID: {}", userId);
         return meetingRepository.findByUserId(userId);
     }
     
+    @Transactional(readOnly = true)
     public List<Meeting> getPendingMeetings(UUID userId) {
         log.info("Fetching pending meetings for user ID: {}", userId);
         return meetingRepository.findByUserIdAndStatusOrderByPriorityDescDeadlineAsc(userId, Meeting.MeetingStatus.pending);
     }
     
+    /** Keyset pages for JsonStreams, which reads each one in its own read-only transaction. */
+    public List<Meeting> getMeetingsByUserAfter(UUID userId, Meeting after, int limit) {
+        return meetingRepository.findPageByUserId(userId, after, limit);
+    }
+    
+    public List<Meeting> getPendingMeetingsAfter(UUID userId, Meeting after, int limit) {
+        return meetingRepository.findPageByUserIdAndStatus(userId, Meeting.MeetingStatus.pending, after, limit);
+    }
+    
     @Transactional
     public Meeting createMeeting(Meeting meeting, User user) {
         log.info("Creating new meeting: {}", meeting.getTitle());
@@ -48,6 +78,10 @@ public class MeetingService {
         meeting.setStatus(Meeting.MeetingStatus.pending);
         
         Meeting savedMeeting = meetingRepository.save(meeting);
+        statisticsService.meetingCreated(savedMeeting.getStatus());
+        resourceVersions.bump(user.getId(), ResourceVersion.Resource.MEETINGS);
+        changeLog.recordUpserts(user.getId(), ResourceVersion.Resource.MEETINGS, List.of(savedMeeting.getId()));
+        pushMeetingChange(user.getId(), List.of(savedMeeting.getId()), savedMeeting.getStatus().name());
         
         // Send notification
         createNotification(user, Notification.NotificationType.MEETING_CREATED, 
@@ -86,7 +120,12 @@ public class MeetingService {
             existingMeeting.setDeadline(meetingDetails.getDeadline());
         }
         
-        return meetingRepository.save(existingMeeting);
+        Meeting savedMeeting = meetingRepository.save(existingMeeting);
+        // Schedules embed their meeting, so their representation changes too
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.MEETINGS, List.of(meetingId));
+        pushMeetingChange(userId, List.of(meetingId), savedMeeting.getStatus().name());
+        return savedMeeting;
     }
     
     @Transactional
@@ -101,7 +140,16 @@ public class MeetingService {
             throw new IllegalArgumentException("You can only delete your own meetings");
         }
         
+        // Its schedules go with it; the foreign key doesn't cascade
+        List<Schedule> schedules = scheduleRepository.findByMeetingId(meetingId);
+        scheduleRepository.deleteAll(schedules);
+        schedules.forEach(schedule -> statisticsService.scheduleDeleted(schedule.getOptimizationScore()));
         meetingRepository.delete(meeting);
+        statisticsService.meetingDeleted(meeting.getStatus());
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        changeLog.recordDeletes(userId, ResourceVersion.Resource.MEETINGS, List.of(meetingId));
+        changeLog.recordDeletes(userId, ResourceVersion.Resource.SCHEDULES, schedules.stream().map(Schedule::getId).toList());
+        pushMeetingChange(userId, List.of(meetingId), "deleted");
         
         // Send notification
         createNotification(meeting.getUser(), Notification.NotificationType.MEETING_CANCELLED, 
@@ -120,8 +168,13 @@ public class MeetingService {
             throw new IllegalArgumentException("You can only mark your own meetings as completed");
         }
         
+        Meeting.MeetingStatus previousStatus = meeting.getStatus();
         meeting.setStatus(Meeting.MeetingStatus.completed);
         Meeting updatedMeeting = meetingRepository.save(meeting);
+        statisticsService.meetingStatusChanged(previousStatus, updatedMeeting.getStatus());
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.MEETINGS, List.of(meetingId));
+        pushMeetingChange(userId, List.of(meetingId), updatedMeeting.getStatus().name());
         
         // Send notification
         createNotification(meeting.getUser(), Notification.NotificationType.MEETING_CREATED, 
@@ -131,11 +184,61 @@ public class MeetingService {
         return updatedMeeting;
     }
     
-    private void validateMeeting(Meeting meeting) {
+    @Transactional
+    public int bulkCompleteMeetings(List<UUID> meetingIds, UUID userId) {
+        log.info("Bulk completing {} meetings for user ID: {}", meetingIds.size(), userId);
+        return bulkUpdateStatus(meetingIds, userId, Meeting.MeetingStatus.completed, 
+                               Notification.NotificationType.MEETING_CREATED, "completed");
+    }
+    
+    @Transactional
+    public int bulkCancelMeetings(List<UUID> meetingIds, UUID userId) {
+        log.info("Bulk cancelling {} meetings for user ID: {}", meetingIds.size(), userId);
+        return bulkUpdateStatus(meetingIds, userId, Meeting.MeetingStatus.cancelled, 
+                               Notification.NotificationType.MEETING_CANCELLED, "cancelled");
+    }
+    
+    private int bulkUpdateStatus(List<UUID> meetingIds, UUID userId, Meeting.MeetingStatus newStatus,
+                                 Notification.NotificationType notificationType, String verb) {
+        // Lock the open ones first: their ids and statuses are exactly what the update changes,
+        // so the change log and the statistics counters follow without loading entities
+        Map<Meeting.MeetingStatus, Long> movedFrom = new EnumMap<>(Meeting.MeetingStatus.class);
+        List<UUID> touched = new ArrayList<>();
+        for (MeetingRepository.IdStatus row : meetingRepository.lockByIdsAndStatus(userId, meetingIds, OPEN_STATUSES)) {
+            touched.add(row.getId());
+            movedFrom.merge(row.getStatus(), 1L, Long::sum);
+        }
+        if (touched.isEmpty()) {
+            return 0;
+        }
+        
+        int affected = meetingRepository.updateStatus(userId, touched, OPEN_STATUSES, newStatus);
+        statisticsService.meetingsStatusChanged(movedFrom, newStatus);
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.MEETINGS, touched);
+        pushMeetingChange(userId, touched, newStatus.name());
+        
+        // One summary notification instead of one per meeting
+        notificationOutbox.enqueue(userId, notificationType, affected + " meetings " + verb);
+        
+        log.info("{} meetings {} for user ID: {}", affected, verb, userId);
+        return affected;
+    }
+    
+    // Also applied to every row of a bulk import (see BulkImportService)
+    void validateMeeting(Meeting meeting) {
         if (meeting.getTitle() == null || meeting.getTitle().trim().isEmpty()) {
             throw new IllegalArgumentException("Meeting title is required");
         }
         
+        if (meeting.getTitle().length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Meeting title must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        
+        if (meeting.getDescription() != null && meeting.getDescription().length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Meeting description must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        
         if (meeting.getPriority() == null || meeting.getPriority() < 1 || meeting.getPriority() > 10) {
             throw new IllegalArgumentException("Meeting priority must be between 1 and 10");
         }
@@ -163,6 +266,10 @@ public class MeetingService {
         meeting.setStatus(Meeting.MeetingStatus.pending);
         
         Meeting savedMeeting = meetingRepository.save(meeting);
+        statisticsService.meetingCreated(savedMeeting.getStatus());
+        resourceVersions.bump(organizer.getId(), ResourceVersion.Resource.MEETINGS);
+        changeLog.recordUpserts(organizer.getId(), ResourceVersion.Resource.MEETINGS, List.of(savedMeeting.getId()));
+        pushMeetingChange(organizer.getId(), List.of(savedMeeting.getId()), savedMeeting.getStatus().name());
         
         // Add organizer as participant
         Participation organizerParticipation = new Participation();
@@ -200,12 +307,12 @@ public class MeetingService {
         return savedMeeting;
     }
     
+    private void pushMeetingChange(UUID userId, List<UUID> meetingIds, String status) {
+        pushService.publish(userId, "meeting", Map.of("meetingIds", meetingIds, "status", status));
+    }
+    
     private void createNotification(User user, Notification.NotificationType type, String message) {
-        Notification notification = new Notification();
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setUser(user);
-        notification.setIsRead(false);
-        notificationRepository.save(notification);
+        // Delivered asynchronously by NotificationDispatcher once this transaction commits
+        notificationOutbox.enqueue(user.getId(), type, message);
     }
 }
\ No newline at end of file
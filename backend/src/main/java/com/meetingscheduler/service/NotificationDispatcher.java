@@ -0,0 +1,165 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drains the notification outbox in batches: one multi-row insert into notifications and
+ * one delete per batch, in a single transaction. Notification ids are the outbox ids and
+ * duplicates are ignored, so a batch that is retried never creates a second copy.
+ * <p>
+ * When a batch fails it is redone row by row, each row in its own transaction, so one bad
+ * row can't hold back the others. A row that fails on its own has its attempts counted and,
+ * at max-attempts, is dead-lettered: kept in the outbox with dead_at set and skipped.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+    
+    private static final String INSERT_NOTIFICATION =
+        "INSERT INTO notifications (id, type, message, is_read, created_at, user_id) " +
+        "VALUES (?, ?, ?, false, ?, ?) ON CONFLICT DO NOTHING";
+    
+    private static final String RECORD_FAILURE =
+        "UPDATE notification_outbox SET attempts = coalesce(attempts, 0) + 1, last_error = ?, " +
+        "dead_at = CASE WHEN coalesce(attempts, 0) + 1 >= ? THEN now() END " +
+        "WHERE id = ? RETURNING dead_at IS NOT NULL";
+    
+    private final NotificationOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersionService resourceVersions;
+    private final int batchSize;
+    private final int maxAttempts;
+    
+    private final Timer deliveryLag;
+    private final Counter dispatched;
+    private final Counter failedRows;
+    private final Counter deadLettered;
+    
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ResourceVersionService resourceVersions,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${scheduler.outbox.batch-size:200}") int batchSize,
+                                  @Value("${scheduler.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.resourceVersions = resourceVersions;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.deliveryLag = Timer.builder("notification.outbox.lag")
+            .description("Time from business commit to notification delivery")
+            .register(meterRegistry);
+        this.dispatched = Counter.builder("notification.outbox.dispatched")
+            .register(meterRegistry);
+        this.failedRows = Counter.builder("notification.outbox.failed")
+            .description("Outbox rows that failed to deliver on their own")
+            .register(meterRegistry);
+        this.deadLettered = Counter.builder("notification.outbox.dead-lettered")
+            .description("Outbox rows given up on after max-attempts failures")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${scheduler.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        try {
+            List<NotificationOutboxEvent> events;
+            do {
+                try {
+                    events = transactionTemplate.execute(status -> deliver(outboxRepository.lockNextBatch(batchSize)));
+                } catch (RuntimeException e) {
+                    log.warn("Notification batch failed, retrying row by row: {}", e.getMessage());
+                    events = dispatchRowByRow();
+                }
+                if (events != null && !events.isEmpty()) {
+                    // Published once the batch has committed, outside any transaction, so
+                    // listeners see the rows and can defer their own work as usual
+                    published(events);
+                }
+            } while (events != null && events.size() == batchSize);
+        } catch (Exception e) {
+            // Nothing could be recorded (e.g. the database is down); the rows stay in the outbox for the next poll
+            log.error("Notification dispatch failed: {}", e.getMessage());
+        }
+    }
+    
+    // Rows of the batch that are still pending, each delivered or failed on its own
+    private List<NotificationOutboxEvent> dispatchRowByRow() {
+        List<NotificationOutboxEvent> delivered = new ArrayList<>();
+        for (UUID id : outboxRepository.findNextIds(batchSize)) {
+            try {
+                // Empty when another node holds the row or has already delivered it
+                transactionTemplate.execute(status -> deliver(outboxRepository.lockById(id).stream().toList()))
+                    .forEach(delivered::add);
+            } catch (RuntimeException e) {
+                recordFailure(id, e);
+            }
+        }
+        return delivered;
+    }
+    
+    private void recordFailure(UUID id, RuntimeException e) {
+        failedRows.increment();
+        String error = String.valueOf(e.getMessage());
+        Boolean dead = jdbcTemplate.queryForObject(RECORD_FAILURE, Boolean.class,
+            error.length() > 500 ? error.substring(0, 500) : error, maxAttempts, id);
+        if (Boolean.TRUE.equals(dead)) {
+            deadLettered.increment();
+            log.error("Notification {} dead-lettered after {} attempts: {}", id, maxAttempts, error);
+        } else {
+            log.warn("Notification {} failed, will retry: {}", id, error);
+        }
+    }
+    
+    private List<NotificationOutboxEvent> deliver(List<NotificationOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setString(2, event.getType().name());
+            ps.setString(3, event.getMessage());
+            ps.setTimestamp(4, Timestamp.valueOf(event.getCreatedAt()));
+            ps.setObject(5, event.getUserId());
+        });
+        outboxRepository.deleteAllByIdInBatch(events.stream().map(NotificationOutboxEvent::getId).toList());
+        events.stream().map(NotificationOutboxEvent::getUserId).distinct()
+            .forEach(userId -> resourceVersions.bump(userId, ResourceVersion.Resource.NOTIFICATIONS));
+        
+        log.debug("Dispatched {} notifications", events.size());
+        return events;
+    }
+    
+    private void published(List<NotificationOutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> deliveryLag.record(Duration.between(event.getCreatedAt(), now)));
+        dispatched.increment(events.size());
+        eventPublisher.publishEvent(new NotificationsDispatchedEvent(events));
+    }
+}
@@ -0,0 +1,25 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.Notification;
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+import com.meetingscheduler.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    
+    private final NotificationOutboxRepository outboxRepository;
+    
+    // Joins the caller's transaction; the row is flushed with the rest of its inserts
+    public void enqueue(UUID userId, Notification.NotificationType type, String message) {
+        NotificationOutboxEvent event = new NotificationOutboxEvent();
+        event.setUserId(userId);
+        event.setType(type);
+        event.setMessage(message);
+        outboxRepository.save(event);
+    }
+}
@@ -0,0 +1,296 @@
+package com.meetingscheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the notifications table range-partitioned by month on created_at (PostgreSQL only).
+ * On first start the plain table Hibernate created is converted in place; afterwards upcoming
+ * months are created ahead of time and months past the retention window are detached and either
+ * moved to an archive schema or dropped, so old data never goes through row-by-row DELETEs.
+ * Rows outside every month land in a DEFAULT partition instead of failing the insert; each run
+ * gives their months partitions of their own, moving the rows out of it first (a month cannot be
+ * created while DEFAULT holds rows inside its range), so retention reaches them like any other.
+ * Every node runs this; each step holds a cluster-wide advisory lock and re-checks the catalog
+ * under it, so nodes starting together convert the table once and never detach a month twice.
+ * Failed steps are logged and counted (notifications.partition.maintenance.failures).
+ */
+@Component
+@Slf4j
+public class NotificationPartitionManager {
+
+    private static final String TABLE = "notifications";
+    private static final String LEGACY_TABLE = "notifications_unpartitioned";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_y(\\d{4})m(\\d{2})");
+    private static final String MAINTENANCE_LOCK = "notifications partition maintenance";
+
+    // Used as the lower bound when retention is off: still a valid timestamp, but prunes nothing
+    private static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean archive;
+    private final String archiveSchema;
+    private final Counter failures;
+
+    private volatile boolean postgres;
+
+    public NotificationPartitionManager(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${scheduler.notifications.partitioning.enabled:true}") boolean enabled,
+                                        @Value("${scheduler.notifications.partitioning.premake-months:3}") int premakeMonths,
+                                        @Value("${scheduler.notifications.retention.months:12}") int retentionMonths,
+                                        @Value("${scheduler.notifications.retention.mode:archive}") String retentionMode,
+                                        @Value("${scheduler.notifications.retention.archive-schema:notifications_archive}") String archiveSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.archive = !"drop".equalsIgnoreCase(retentionMode);
+        this.archiveSchema = archiveSchema;
+        this.failures = Counter.builder("notifications.partition.maintenance.failures")
+            .description("Notification partition maintenance steps that failed").register(meterRegistry);
+    }
+
+    /**
+     * Oldest created_at still visible to readers. Repository queries filter on it so
+     * PostgreSQL only scans the partitions inside the retention window.
+     */
+    public LocalDateTime retentionCutoff() {
+        if (retentionMonths <= 0) {
+            return NO_LOWER_BOUND;
+        }
+        return YearMonth.now().minusMonths(retentionMonths - 1L).atDay(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+        if (!postgres) {
+            log.info("Notification partitioning skipped: {} is not PostgreSQL", product);
+            return;
+        }
+        maintain();
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.notifications.partitioning.maintenance-interval-ms:3600000}",
+               initialDelayString = "${scheduler.notifications.partitioning.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        if (!enabled || !postgres) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lockMaintenance();
+                if (!isPartitioned()) {
+                    convertToPartitionedTable();
+                }
+            });
+        } catch (Exception e) {
+            failures.increment();
+            log.error("Converting {} to a partitioned table failed", TABLE, e);
+            return;
+        }
+        TreeSet<YearMonth> months = new TreeSet<>(strayMonths());
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            months.add(current.plusMonths(i));
+        }
+        // One month per transaction, so a month that cannot be created holds up no other
+        for (YearMonth month : months) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    lockMaintenance();
+                    createMonthPartition(month);
+                });
+            } catch (Exception e) {
+                failures.increment();
+                log.error("Creating notification partition {} failed", partitionName(month), e);
+            }
+        }
+        if (retentionMonths > 0) {
+            try {
+                applyRetention();
+            } catch (Exception e) {
+                failures.increment();
+                log.error("Notification retention failed", e);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+            "WHERE c.oid = to_regclass(?)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private void convertToPartitionedTable() {
+        log.info("Converting {} to a monthly range-partitioned table", TABLE);
+
+        // Keep the foreign keys Hibernate created, under the same names, so schema update stays quiet
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+            "SELECT conname AS name, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+            "WHERE conrelid = to_regclass(?) AND contype = 'f'", TABLE);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        jdbcTemplate.execute("UPDATE " + LEGACY_TABLE + " SET created_at = now() WHERE created_at IS NULL");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS) " +
+                             "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN created_at SET NOT NULL");
+
+        List<Timestamp> months = jdbcTemplate.queryForList(
+            "SELECT DISTINCT date_trunc('month', created_at) FROM " + LEGACY_TABLE, Timestamp.class);
+        for (Timestamp month : months) {
+            createMonthPartition(YearMonth.from(month.toLocalDateTime()));
+        }
+        // Catches rows outside every monthly range (clock skew, imports) instead of failing the insert
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+        // Unique constraints on a partitioned table have to include the partition key
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, created_at)");
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey.get("name") + " " +
+                                 foreignKey.get("definition"));
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON " + TABLE +
+                             " (user_id, created_at DESC)");
+
+        log.info("Moved {} notifications into the partitioned table", copied);
+    }
+
+    private void createMonthPartition(YearMonth month) {
+        String partition = partitionName(month);
+        if (exists(partition)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        String range = " WHERE created_at >= '" + from + "' AND created_at < '" + to + "'";
+        boolean stray = exists(DEFAULT_PARTITION) && Boolean.TRUE.equals(
+            jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + range + ")", Boolean.class));
+        if (!stray) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + TABLE + bounds);
+            return;
+        }
+        // DEFAULT holds rows of this month, which would fail the CREATE: take it out while they move
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + TABLE + bounds);
+        int moved = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + DEFAULT_PARTITION + range);
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + range);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.warn("Moved {} notifications outside every partition into {}", moved, partition);
+    }
+
+    // Months of rows that landed in DEFAULT, read before any lock: createMonthPartition re-checks
+    private List<YearMonth> strayMonths() {
+        if (!exists(DEFAULT_PARTITION)) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', created_at) FROM " + DEFAULT_PARTITION, Timestamp.class)
+            .stream().map(month -> YearMonth.from(month.toLocalDateTime())).toList();
+    }
+
+    private void applyRetention() {
+        YearMonth oldestKept = YearMonth.from(retentionCutoff());
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABLE);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            // One partition per transaction: DETACH briefly locks the parent, keep that window short
+            Boolean detached = transactionTemplate.execute(status -> {
+                lockMaintenance();
+                if (!isAttached(partition)) {
+                    return false;
+                }
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                if (archive) {
+                    // Archived rows must not keep their users from being deleted
+                    for (String foreignKey : foreignKeys(partition)) {
+                        jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + foreignKey);
+                    }
+                    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+                } else {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(detached)) {
+                log.info("Notification partition {} {}", partition, archive ? "archived to " + archiveSchema : "dropped");
+            }
+        }
+    }
+
+    // Transaction-scoped, so it is released on commit and works behind a transaction-mode pooler
+    private void lockMaintenance() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> null, MAINTENANCE_LOCK);
+    }
+
+    // Another node may have detached it while this one waited for the lock
+    private boolean isAttached(String partition) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?)",
+            Integer.class, partition, TABLE);
+        return count != null && count > 0;
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private List<String> foreignKeys(String table) {
+        return jdbcTemplate.queryForList(
+            "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'", String.class, table);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,6 +1,7 @@
 package com.meetingscheduler.service;
 
 import com.meetingscheduler.entity.Notification;
+import com.meetingscheduler.entity.ResourceVersion;
 import com.meetingscheduler.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,26 +17,35 @@ import java.util.UUID;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final NotificationPartitionManager partitionManager;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ResourceVersionService resourceVersions;
     
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByUser(UUID userId) {
         log.info("Fetching notifications for user ID: {}", userId);
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return notificationRepository.findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId, partitionManager.retentionCutoff());
     }
     
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications(UUID userId) {
         log.info("Fetching unread notifications for user ID: {}", userId);
-        return notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
+        return notificationRepository.findByUserIdAndIsReadAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId, false, partitionManager.retentionCutoff());
     }
     
     public Long getUnreadNotificationCount(UUID userId) {
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        // Served from memory; only the first request per user hits the database
+        return unreadCounter.get(userId);
     }
     
     @Transactional
     public Notification markAsRead(UUID notificationId, UUID userId) {
         log.info("Marking notification as read: {}", notificationId);
         
-        Notification notification = notificationRepository.findById(notificationId)
+        Notification notification = notificationRepository
+                .findByIdAndCreatedAtGreaterThanEqual(notificationId, partitionManager.retentionCutoff())
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
         
         // Check if user owns this notification
@@ -43,19 +53,43 @@ public class NotificationService {
             throw new IllegalArgumentException("You can only mark your own notifications as read");
         }
         
+        int affected = notificationRepository.markAsReadAt(notificationId, notification.getCreatedAt());
+        unreadCounter.markedRead(userId, affected);
+        bumpIfChanged(userId, affected);
+        // Read-only entity: this only shapes the response
         notification.setIsRead(true);
-        return notificationRepository.save(notification);
+        return notification;
     }
     
     @Transactional
-    public void markAllAsRead(UUID userId) {
+    public int markAllAsRead(UUID userId) {
         log.info("Marking all notifications as read for user ID: {}", userId);
-        
-        List<Notification> unreadNotifications = getUnreadNotifications(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
+        int affected = notificationRepository.markAllAsRead(userId, partitionManager.retentionCutoff());
+        unreadCounter.markedRead(userId, affected);
+        bumpIfChanged(userId, affected);
+        return affected;
+    }
+    
+    @Transactional
+    public int markAsRead(List<UUID> notificationIds, UUID userId) {
+        log.info("Marking {} notifications as read for user ID: {}", notificationIds.size(), userId);
+        // Ids that belong to someone else simply don't match, so they are not counted
+        int affected = notificationRepository.markAsRead(userId, notificationIds, partitionManager.retentionCutoff());
+        unreadCounter.markedRead(userId, affected);
+        bumpIfChanged(userId, affected);
+        return affected;
+    }
+    
+    @Transactional
+    public int deleteNotifications(List<UUID> notificationIds, UUID userId) {
+        log.info("Deleting {} notifications for user ID: {}", notificationIds.size(), userId);
+        int affected = notificationRepository.deleteByUserIdAndIds(userId, notificationIds, partitionManager.retentionCutoff());
+        if (affected > 0) {
+            // The statement doesn't say how many of the deleted rows were unread
+            unreadCounter.invalidate(userId);
         }
-        notificationRepository.saveAll(unreadNotifications);
+        bumpIfChanged(userId, affected);
+        return affected;
     }
     
     @Transactional
@@ -63,7 +97,8 @@ public class NotificationService {
         log.info("Deleting notification: {} for user: {}", notificationId, userId);
         
         try {
-            Notification notification = notificationRepository.findById(notificationId)
+            Notification notification = notificationRepository
+                    .findByIdAndCreatedAtGreaterThanEqual(notificationId, partitionManager.retentionCutoff())
                     .orElseThrow(() -> new IllegalArgumentException("Notification not found with ID: " + notificationId));
             
             // Check if user owns this notification
@@ -71,11 +106,21 @@ public class NotificationService {
                 throw new IllegalArgumentException("You can only delete your own notifications");
             }
             
-            notificationRepository.delete(notification);
+            int affected = notificationRepository.deleteAt(notificationId, notification.getCreatedAt());
+            if (affected > 0 && !Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounter.markedRead(userId, 1);
+            }
+            bumpIfChanged(userId, affected);
             log.info("Notification deleted successfully");
         } catch (Exception e) {
             log.error("Error deleting notification: {}", e.getMessage());
             throw new IllegalArgumentException("Failed to delete notification: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    private void bumpIfChanged(UUID userId, int affected) {
+        if (affected > 0) {
+            resourceVersions.bump(userId, ResourceVersion.Resource.NOTIFICATIONS);
+        }
+    }
+}
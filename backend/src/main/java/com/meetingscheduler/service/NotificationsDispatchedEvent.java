@@ -0,0 +1,12 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Published after the dispatcher commits a batch; push channels listen for it.
+ * May be seen more than once for the same notification id.
+ */
+public record NotificationsDispatchedEvent(List<NotificationOutboxEvent> notifications) {
+}
@@ -0,0 +1,73 @@
+package com.meetingscheduler.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes schedule optimization per user. Striped in-JVM locks keep concurrent
+ * requests on one node from racing each other; a transaction-scoped Postgres advisory
+ * lock does the same across nodes for the write phase.
+ */
+@Service
+@Slf4j
+public class OptimizationLockService {
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+    private final boolean advisoryLocksEnabled;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OptimizationLockService(JdbcTemplate jdbcTemplate,
+                                   @Value("${scheduler.optimization.lock-stripes:64}") int stripeCount,
+                                   @Value("${scheduler.optimization.lock-timeout-ms:30000}") long lockTimeoutMillis,
+                                   @Value("${scheduler.optimization.advisory-locks:true}") boolean advisoryLocksEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.advisoryLocksEnabled = advisoryLocksEnabled;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withUserLock(UUID userId, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("An optimization for this user is already running, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for optimization lock");
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until no other transaction in the cluster holds the lock for this user.
+     * Released automatically on commit or rollback, so it is safe behind a transaction-mode pooler.
+     */
+    public void lockForTransaction(UUID userId) {
+        if (!advisoryLocksEnabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory lock requires an active transaction");
+        }
+        long key = userId.getMostSignificantBits() ^ userId.getLeastSignificantBits();
+        log.debug("Acquiring advisory lock {} for user {}", key, userId);
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, key);
+    }
+}
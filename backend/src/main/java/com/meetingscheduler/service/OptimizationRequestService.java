@@ -0,0 +1,102 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.algorithm.ScheduleOptimizer;
+import com.meetingscheduler.config.OptimizationBulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Front door for optimize requests. A repeated Idempotency-Key is answered from the stored
+ * result without taking a bulkhead slot, and concurrent requests for the same user (double
+ * submits, a secretary and their executive) share one in-flight run instead of queueing
+ * solves that would each rebase on the previous one's writes. A request only joins a run
+ * that is still waiting for its slot: once the run starts reading its snapshot, a caller's
+ * writes from just before the request might be missing from it, so the caller gets a run of
+ * its own (queued behind the first on the user's lock).
+ */
+@Service
+@Slf4j
+public class OptimizationRequestService {
+
+    private final ScheduleService scheduleService;
+    private final IdempotencyStore idempotencyStore;
+    private final OptimizationBulkhead bulkhead;
+    private final ConcurrentHashMap<UUID, Run> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter replayed;
+
+    public OptimizationRequestService(ScheduleService scheduleService,
+                                      IdempotencyStore idempotencyStore,
+                                      OptimizationBulkhead bulkhead,
+                                      MeterRegistry meterRegistry) {
+        this.scheduleService = scheduleService;
+        this.idempotencyStore = idempotencyStore;
+        this.bulkhead = bulkhead;
+        this.coalesced = Counter.builder("schedule.optimize.coalesced")
+            .description("Optimize requests that joined a run still queued for the user").register(meterRegistry);
+        this.replayed = Counter.builder("schedule.optimize.replayed")
+            .description("Optimize requests answered from a stored idempotent result").register(meterRegistry);
+    }
+
+    /**
+     * Completes with the result, or exceptionally with what the run threw (a TimeoutException
+     * if it didn't finish in time). Throws OptimizationBulkhead.Rejected when a new run can't
+     * be queued.
+     */
+    public CompletableFuture<Outcome> optimize(UUID userId, String idempotencyKey) {
+        String key = IdempotencyStore.normalize(idempotencyKey);
+        if (key != null) {
+            Optional<ScheduleOptimizer.OptimizedScheduleResult> stored =
+                idempotencyStore.find(userId, key, ScheduleOptimizer.OptimizedScheduleResult.class);
+            if (stored.isPresent()) {
+                replayed.increment();
+                log.info("Replaying stored optimization for user {} (idempotency key {})", userId, key);
+                return CompletableFuture.completedFuture(new Outcome(stored.get(), true));
+            }
+        }
+
+        boolean[] started = new boolean[1];
+        Run run = inFlight.compute(userId, (id, current) -> {
+            if (current != null && !current.snapshotting().get()) {
+                return current;
+            }
+            started[0] = true;
+            AtomicBoolean snapshotting = new AtomicBoolean();
+            return new Run(snapshotting, bulkhead.submit(() -> {
+                // Set before the snapshot is read: a request that still finds it unset had its writes committed first
+                snapshotting.set(true);
+                return scheduleService.optimizeSchedule(id, key);
+            }));
+        });
+        if (started[0]) {
+            run.result().whenComplete((result, error) -> inFlight.remove(userId, run));
+        } else {
+            coalesced.increment();
+            log.info("Optimization for user {} already queued, joining it", userId);
+        }
+
+        CompletableFuture<Outcome> outcome = run.result().thenApply(result -> {
+            if (!started[0] && key != null) {
+                // The run stored its own key, if it had one; a retry of this request needs this one
+                idempotencyStore.save(userId, key, result);
+            }
+            return new Outcome(result, false);
+        });
+        return outcome.orTimeout(bulkhead.timeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private record Run(AtomicBoolean snapshotting, CompletableFuture<ScheduleOptimizer.OptimizedScheduleResult> result) {
+    }
+
+    public record Outcome(ScheduleOptimizer.OptimizedScheduleResult result, boolean replayed) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.meetingscheduler.entity.CalendarIntegration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outlook through Microsoft Graph. Pulls use calendarView delta over a fixed window: the
+ * next and delta links are the page and sync tokens. Graph picks event ids itself, so
+ * creates send the schedule id as transactionId, which makes a retried create a no-op.
+ */
+@Component
+class OutlookCalendarClient implements CalendarClient {
+
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final Set<String> FREE = Set.of("free", "workingElsewhere");
+
+    private final CalendarHttp http;
+    private final String baseUrl;
+    private final int horizonDays;
+
+    OutlookCalendarClient(CalendarHttp http,
+                          @Value("${scheduler.calendar-sync.outlook.base-url:https://graph.microsoft.com/v1.0}") String baseUrl,
+                          @Value("${scheduler.calendar-sync.horizon-days:90}") int horizonDays) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    public CalendarIntegration.CalendarType type() {
+        return CalendarIntegration.CalendarType.OUTLOOK_CALENDAR;
+    }
+
+    @Override
+    public ChangePage changes(CalendarIntegration integration, String syncToken, String pageToken) throws IOException {
+        String uri = pageToken != null ? pageToken : syncToken;
+        if (uri != null) {
+            CalendarHttp.checkSameOrigin(uri, baseUrl);
+        } else {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            uri = calendar(integration) + "/calendarView/delta?startDateTime=" + UTC.format(now.minusDays(1))
+                + "Z&endDateTime=" + UTC.format(now.plusDays(horizonDays)) + "Z";
+        }
+        JsonNode body = http.json(http.send(authorized(integration, CalendarHttp.request(uri).GET())
+            .header("Prefer", "odata.maxpagesize=100, outlook.timezone=\"UTC\"")));
+        List<Change> changes = new ArrayList<>();
+        for (JsonNode item : body.path("value")) {
+            LocalDateTime start = time(item.path("start"));
+            LocalDateTime end = time(item.path("end"));
+            boolean busy = !item.has("@removed") && !item.path("isCancelled").asBoolean(false)
+                && !FREE.contains(item.path("showAs").asText()) && start != null && end != null;
+            changes.add(new Change(item.path("id").asText(), start, end, busy));
+        }
+        return new ChangePage(changes, text(body, "@odata.nextLink"), text(body, "@odata.deltaLink"));
+    }
+
+    @Override
+    public String upsert(CalendarIntegration integration, String externalId, Event event) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("subject", event.title());
+        body.put("body", Map.of("contentType", "text", "content", event.description() != null ? event.description() : ""));
+        body.put("start", Map.of("dateTime", utc(event.start()), "timeZone", "UTC"));
+        body.put("end", Map.of("dateTime", utc(event.end()), "timeZone", "UTC"));
+        if (externalId != null) {
+            http.send(authorized(integration, CalendarHttp.request(calendar(integration) + "/events/" + encode(externalId))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(http.json(body)))));
+            return externalId;
+        }
+        body.put("transactionId", event.key());
+        JsonNode created = http.json(http.send(authorized(integration, CalendarHttp.request(calendar(integration) + "/events")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(http.json(body))))));
+        return created.path("id").asText();
+    }
+
+    @Override
+    public void delete(CalendarIntegration integration, String externalId) throws IOException {
+        http.send(authorized(integration, CalendarHttp.request(calendar(integration) + "/events/" + encode(externalId)).DELETE()), 404);
+    }
+
+    private String calendar(CalendarIntegration integration) {
+        return integration.getCalendarId() != null
+            ? baseUrl + "/me/calendars/" + encode(integration.getCalendarId())
+            : baseUrl + "/me";
+    }
+
+    private static HttpRequest.Builder authorized(CalendarIntegration integration, HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + integration.getAuthToken());
+    }
+
+    // Asked for in UTC; Graph sends up to seven fraction digits and no offset
+    private static LocalDateTime time(JsonNode node) {
+        if (!node.hasNonNull("dateTime")) {
+            return null;
+        }
+        String zone = node.path("timeZone").asText("UTC");
+        return LocalDateTime.parse(node.get("dateTime").asText())
+            .atZone("UTC".equals(zone) ? ZoneOffset.UTC : ZoneId.of(zone))
+            .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static String utc(LocalDateTime serverTime) {
+        return UTC.format(serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String text(JsonNode body, String field) {
+        return body.hasNonNull(field) ? body.get(field).asText() : null;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,197 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries push events between nodes over PostgreSQL LISTEN/NOTIFY, so a user connected to one
+ * node gets events raised on another (e.g. notifications drained by another node's dispatcher).
+ * Off by default: LISTEN needs a session of its own, which a transaction-mode pooler such as
+ * PgBouncer can't provide, so the relay listens on scheduler.push.relay.url (the primary's URL
+ * when unset). With the relay off, events only reach connections on the node that raised them.
+ *
+ * Sends go out on a thread of their own after commit. NOTIFY payloads are capped at 8000 bytes;
+ * a bigger event is relayed as a resync for its user. Events sent while the listening session
+ * is down are lost, so after a reconnect every local channel is told to resync.
+ */
+@Component
+@Slf4j
+public class PushRelay {
+
+    private static final String CHANNEL = "push_events";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final String node = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final ThreadPoolExecutor sender;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PushRelay(JdbcTemplate jdbcTemplate,
+                     ObjectMapper objectMapper,
+                     ApplicationEventPublisher eventPublisher,
+                     HikariDataSource primaryDataSource,
+                     MeterRegistry meterRegistry,
+                     @Value("${scheduler.push.relay.enabled:false}") boolean enabled,
+                     @Value("${scheduler.push.relay.url:}") String url,
+                     @Value("${scheduler.push.relay.queue-capacity:10000}") int queueCapacity,
+                     @Value("${scheduler.push.relay.poll-timeout-ms:1000}") int pollTimeoutMillis,
+                     @Value("${scheduler.push.relay.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.url = url.isBlank() ? primaryDataSource.getJdbcUrl() : url;
+        this.username = primaryDataSource.getUsername();
+        this.password = primaryDataSource.getPassword();
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> new Thread(r, "push-relay-send"));
+        this.failed = Counter.builder("push.relay.failed")
+            .description("Push events that could not be relayed to other nodes")
+            .register(meterRegistry);
+    }
+
+    /** Relays an event to the other nodes; call once the change behind it has committed. */
+    public void send(UUID userId, String name, Object data) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Off the caller's thread: after commit its connection still belongs to the finished transaction
+            sender.execute(() -> notify(userId, name, data));
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Push relay disabled: events reach only connections on the node that raised them");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "push-relay");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        sender.shutdown();
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void notify(UUID userId, String name, Object data) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Message(node, userId, name, data));
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(new Message(node, userId, null, null));
+            }
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, payload);
+        } catch (JsonProcessingException | DataAccessException e) {
+            failed.increment();
+            log.warn("Push relay send failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Push relay listening");
+                if (reconnected) {
+                    eventPublisher.publishEvent(new Missed(null));
+                }
+                reconnected = true;
+                PGConnection postgres = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = postgres.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            received(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Push relay connection lost, reconnecting: {}", e.getMessage());
+                    try {
+                        Thread.sleep(reconnectDelayMillis);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void received(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            if (node.equals(message.node())) {
+                return;
+            }
+            eventPublisher.publishEvent(message.name() == null
+                ? new Missed(message.userId())
+                : new Received(message.userId(), message.name(), message.data()));
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable push relay message: {}", e.getMessage());
+        }
+    }
+
+    private record Message(String node, UUID userId, String name, Object data) {
+    }
+
+    /** An event raised on another node. */
+    public record Received(UUID userId, String name, Object data) {
+    }
+
+    /** Relayed events were lost for a user, or for everyone when userId is null. */
+    public record Missed(UUID userId) {
+    }
+}
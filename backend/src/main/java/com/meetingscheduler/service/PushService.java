@@ -0,0 +1,421 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user server-sent event channels. Connections are async servlet requests, so an idle
+ * subscriber costs a socket and an emitter but no thread. All work for one user (publishing,
+ * replay, registering a subscriber) runs on a single "lane" thread picked by user id, which
+ * keeps that user's events in order without locking.
+ *
+ * Lanes never write to a socket themselves: each subscriber has a bounded queue that a sender
+ * pool drains, so a slow client only ever holds up its own sender thread. A subscriber whose
+ * queue overflows, or whose write has hung past write-timeout, is dropped and reconnects to a
+ * resync. A hung write still holds its sender until Tomcat's socket write timeout (the
+ * connection timeout) fails it.
+ *
+ * Event ids are "{node epoch}-{per-user sequence}". A client reconnecting with Last-Event-ID
+ * gets the events it missed from a short replay buffer, or a "resync" event telling it to
+ * refetch when the gap can't be filled (buffer overrun, restart, different node). Events
+ * raised on other nodes arrive through PushRelay when it is enabled.
+ */
+@Service
+@Slf4j
+public class PushService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentHashMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor[] lanes;
+    private final ThreadPoolExecutor senders;
+    private final PushRelay relay;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter slow;
+
+    private final long emitterTimeoutMillis;
+    private final int replaySize;
+    private final long replayWindowMillis;
+    private final int subscriberQueueCapacity;
+    private final long writeTimeoutMillis;
+
+    public PushService(MeterRegistry meterRegistry,
+                       PushRelay relay,
+                       @Value("${scheduler.push.lanes:4}") int laneCount,
+                       @Value("${scheduler.push.lane-queue-capacity:10000}") int laneQueueCapacity,
+                       @Value("${scheduler.push.senders:16}") int senderCount,
+                       @Value("${scheduler.push.subscriber-queue-capacity:256}") int subscriberQueueCapacity,
+                       @Value("${scheduler.push.write-timeout-ms:30000}") long writeTimeoutMillis,
+                       @Value("${scheduler.push.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                       @Value("${scheduler.push.replay-size:100}") int replaySize,
+                       @Value("${scheduler.push.replay-window-ms:300000}") long replayWindowMillis) {
+        this.relay = relay;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.replaySize = replaySize;
+        this.replayWindowMillis = replayWindowMillis;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "push-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneQueueCapacity), r -> new Thread(r, name));
+        }
+        AtomicInteger senderThreads = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderCount, senderCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(laneQueueCapacity), r -> new Thread(r, "push-sender-" + senderThreads.incrementAndGet()));
+        Gauge.builder("push.connections", connections, AtomicInteger::get)
+            .description("Open server-sent event connections on this node")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("push.events.dropped")
+            .description("Push work rejected because a lane or sender queue was full")
+            .register(meterRegistry);
+        this.slow = Counter.builder("push.subscribers.dropped")
+            .description("Connections closed because the client fell behind or a write hung")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        Runnable unsubscribe = () -> onLane(userId, () -> {
+            Channel channel = channels.get(userId);
+            if (channel != null) {
+                remove(channel, subscriber);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // Looked up on the lane so it can't race the idle-channel cleanup, which also runs there
+        boolean accepted = onLane(userId, () -> {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel());
+            replay(channel, subscriber, lastEventId);
+            channel.subscribers.add(subscriber);
+            connections.incrementAndGet();
+        });
+        if (!accepted) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /** Pushes an event to the user's open connections, on every node, once the current transaction commits. */
+    public void publish(UUID userId, String name, Object data) {
+        TransactionCallbacks.afterCommit(() -> {
+            publishLocally(userId, name, data);
+            relay.send(userId, name, data);
+        });
+    }
+
+    @EventListener
+    public void onRelayed(PushRelay.Received event) {
+        publishLocally(event.userId(), event.name(), event.data());
+    }
+
+    @EventListener
+    public void onRelayMissed(PushRelay.Missed event) {
+        if (event.userId() != null) {
+            Channel channel = channels.get(event.userId());
+            if (channel != null) {
+                missed(channel);
+            }
+        } else {
+            channels.values().forEach(this::missed);
+        }
+    }
+
+    private void publishLocally(UUID userId, String name, Object data) {
+        boolean accepted = onLane(userId, () -> {
+            Channel channel = channels.get(userId);
+            if (channel != null) {
+                // Nobody listening and nothing buffered: no channel is created just to hold this
+                deliver(channel, name, data);
+            }
+        });
+        Channel channel = channels.get(userId);
+        if (!accepted && channel != null) {
+            missed(channel);
+        }
+    }
+
+    // The event is lost; drop the connections so clients reconnect and get told to resync
+    private void missed(Channel channel) {
+        channel.missedEvents = true;
+        channel.subscribers.forEach(Subscriber::close);
+    }
+
+    @EventListener
+    public void onNotificationsDispatched(NotificationsDispatchedEvent event) {
+        for (NotificationOutboxEvent notification : event.notifications()) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", notification.getId());
+            data.put("type", notification.getType());
+            data.put("message", notification.getMessage());
+            data.put("isRead", false);
+            data.put("createdAt", notification.getCreatedAt());
+            publish(notification.getUserId(), "notification", data);
+        }
+    }
+
+    // Only queues work on the lanes, so the shared scheduler thread never waits on a socket
+    @Scheduled(fixedDelayString = "${scheduler.push.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        channels.forEach((userId, channel) -> onLane(userId, () -> {
+            long now = System.currentTimeMillis();
+            // Keeps proxies from closing idle connections and surfaces dead ones as send errors
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.hung(now)) {
+                    slow.increment();
+                    subscriber.close();
+                    remove(channel, subscriber);
+                } else {
+                    subscriber.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+            if (channel.subscribers.isEmpty() && now - channel.lastEventAt > replayWindowMillis) {
+                channels.remove(userId, channel);
+            }
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        senders.shutdown();
+    }
+
+    private void deliver(Channel channel, String name, Object data) {
+        skipMissedEvents(channel);
+        PushEvent event = new PushEvent(++channel.sequence, name, data, System.currentTimeMillis());
+        channel.lastEventAt = event.createdAt();
+        channel.buffer.addLast(event);
+        while (channel.buffer.size() > replaySize) {
+            channel.buffer.removeFirst();
+        }
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.send(toSse(event));
+        }
+    }
+
+    private void replay(Channel channel, Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscriber.send(SseEmitter.event().name("ready").id(eventId(channel.sequence)).data(Map.of()));
+            return;
+        }
+        skipMissedEvents(channel);
+        long lastSequence = parseSequence(lastEventId);
+        PushEvent oldest = channel.buffer.peekFirst();
+        boolean gapless = lastSequence == channel.sequence
+            || (lastSequence >= 0 && lastSequence < channel.sequence
+                && oldest != null && oldest.sequence() <= lastSequence + 1);
+        if (!gapless) {
+            subscriber.send(SseEmitter.event().name("resync").id(eventId(channel.sequence)).data(Map.of()));
+            return;
+        }
+        for (PushEvent event : List.copyOf(channel.buffer)) {
+            if (event.sequence() > lastSequence) {
+                subscriber.send(toSse(event));
+            }
+        }
+    }
+
+    // A builder is single use, so each subscriber gets its own
+    private SseEmitter.SseEventBuilder toSse(PushEvent event) {
+        return SseEmitter.event()
+            .id(eventId(event.sequence()))
+            .name(event.name())
+            .data(event.data(), MediaType.APPLICATION_JSON);
+    }
+
+    private void remove(Channel channel, Subscriber subscriber) {
+        if (channel.subscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private void skipMissedEvents(Channel channel) {
+        if (channel.missedEvents) {
+            // Burn a sequence number so every id issued before the loss now has a gap behind it
+            channel.missedEvents = false;
+            channel.buffer.clear();
+            channel.sequence++;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /** Sequence from an id issued by this node and process, or -1 if it came from elsewhere. */
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean onLane(UUID userId, Runnable task) {
+        try {
+            lanes[Math.floorMod(userId.hashCode(), lanes.length)].execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("Push task failed for user {}: {}", userId, e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            return false;
+        }
+    }
+
+    private record PushEvent(long sequence, String name, Object data, long createdAt) {
+    }
+
+    /**
+     * One connection and its pending events. At most one sender drains it at a time, and only
+     * that sender touches the emitter once it is set up, so closing never waits on a hung write.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>(); // guarded by this
+        private boolean draining; // guarded by this
+        private boolean closed; // guarded by this
+        private volatile long writingSince;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= subscriberQueueCapacity) {
+                    // Too far behind to catch up; it reconnects and resyncs instead
+                    slow.increment();
+                    closed = true;
+                } else {
+                    pending.addLast(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            drainLater();
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            drainLater();
+        }
+
+        boolean hung(long now) {
+            long since = writingSince;
+            return since != 0 && now - since > writeTimeoutMillis;
+        }
+
+        private void drainLater() {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                dropped.increment();
+                synchronized (this) {
+                    closed = true;
+                    pending.clear();
+                }
+                // Nothing is writing (draining was just claimed), so completing can't block
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    if (closed) {
+                        // draining stays set: nothing is sent after the close
+                        pending.clear();
+                        break;
+                    }
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                writingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                } finally {
+                    writingSince = 0;
+                }
+            }
+            emitter.complete();
+        }
+    }
+
+    // Sequence and buffer are only touched on the user's lane thread
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final ArrayDeque<PushEvent> buffer = new ArrayDeque<>();
+        // Seeded from the clock so a channel recreated after idling never reissues an old id
+        private long sequence = System.currentTimeMillis() * 1000;
+        private volatile long lastEventAt = System.currentTimeMillis();
+        private volatile boolean missedEvents;
+    }
+}
@@ -0,0 +1,177 @@
+package com.meetingscheduler.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meetingscheduler.config.ReplicaRoutingDataSource;
+import com.meetingscheduler.entity.ResourceVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-user, per-resource version stamps behind the ETags of the list endpoints. Writers bump
+ * the stamp in their own transaction; readers compare it with If-None-Match before touching
+ * the data. Stamps are cached briefly, so a write made through another node shows up here
+ * within the cache TTL; writes made through this node show up as soon as they commit.
+ * <p>
+ * Stamps come from the primary, data may come from a replica. A body sent under a tag must
+ * be at least as new as the tag, so tagged reads check the stamp again in their own
+ * transaction and, if the replica hasn't applied it yet, read on the primary instead.
+ */
+@Service
+public class ResourceVersionService {
+    
+    // GREATEST: a transaction that started earlier but bumps later must not move the time back
+    private static final String BUMP =
+        "INSERT INTO resource_versions (user_id, resource, version, updated_at) VALUES (?, ?, 1, now()) " +
+        "ON CONFLICT (user_id, resource) DO UPDATE SET version = resource_versions.version + 1, " +
+        "updated_at = GREATEST(now(), resource_versions.updated_at) " +
+        "RETURNING version";
+    
+    private static final String CURRENT =
+        "SELECT version FROM resource_versions WHERE user_id = ? AND resource = ?";
+    
+    private static final String LAST_MODIFIED =
+        "SELECT max(updated_at) FROM resource_versions WHERE user_id IN (%s) AND resource IN (%s)";
+    
+    // Generated by Hibernate from the enum when the table is created, and never updated after
+    private static final String DROP_RESOURCE_CHECK =
+        "ALTER TABLE resource_versions DROP CONSTRAINT IF EXISTS resource_versions_resource_check";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<ResourceVersion.Key, Long> versions;
+    private final boolean replicated;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter behindReads;
+    
+    public ResourceVersionService(JdbcTemplate jdbcTemplate,
+                                  ReplicaRoutingDataSource routingDataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${scheduler.etags.version-cache-ttl-ms:1000}") long cacheTtlMillis,
+                                  @Value("${scheduler.etags.version-cache-size:100000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.replicated = !routingDataSource.getReplicas().isEmpty();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.behindReads = Counter.builder("etags.reads.replica-behind")
+            .description("Tagged reads redone on the primary because the replica hadn't reached the tag")
+            .register(meterRegistry);
+        this.versions = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+            .maximumSize(cacheSize)
+            .build();
+    }
+    
+    /** Lets tables created before a Resource was added store stamps for it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void allowNewResources() {
+        jdbcTemplate.execute(DROP_RESOURCE_CHECK);
+    }
+    
+    /** Must run inside the writing transaction so the stamp and the data commit together. */
+    public void bump(UUID userId, ResourceVersion.Resource... resources) {
+        for (ResourceVersion.Resource resource : resources) {
+            Long version = jdbcTemplate.queryForObject(BUMP, Long.class, userId, resource.name());
+            ResourceVersion.Key key = new ResourceVersion.Key(userId, resource);
+            // Never move a cached stamp backwards if commits finish out of order
+            TransactionCallbacks.afterCommit(() -> versions.asMap().merge(key, version, Math::max));
+        }
+    }
+    
+    public void bumpAll(UUID userId) {
+        bump(userId, ResourceVersion.Resource.values());
+    }
+    
+    public long current(UUID userId, ResourceVersion.Resource resource) {
+        return versions.get(new ResourceVersion.Key(userId, resource), key -> {
+            List<Long> rows = jdbcTemplate.queryForList(CURRENT, Long.class, userId, resource.name());
+            return rows.isEmpty() ? 0L : rows.get(0);
+        });
+    }
+    
+    public Stamp stamp(UUID userId, ResourceVersion.Resource resource) {
+        return new Stamp(userId, resource, current(userId, resource));
+    }
+    
+    /**
+     * Whether the current transaction sees every write up to the stamp. Reads the table on the
+     * transaction's own connection, not the cache; always true without replicas.
+     */
+    public boolean reached(Stamp stamp) {
+        if (!replicated) {
+            return true;
+        }
+        List<Long> rows = jdbcTemplate.queryForList(CURRENT, Long.class, stamp.userId(), stamp.resource().name());
+        boolean reached = (rows.isEmpty() ? 0L : rows.get(0)) >= stamp.version();
+        if (!reached) {
+            behindReads.increment();
+        }
+        return reached;
+    }
+    
+    /** Runs a read-only read whose result is at least as new as the stamp (see the class comment). */
+    public <T> T readAtLeast(Stamp stamp, Supplier<T> read) {
+        Optional<T> result = readOnlyTransaction.execute(status ->
+            reached(stamp) ? Optional.ofNullable(read.get()) : null);
+        if (result != null) {
+            return result.orElse(null);
+        }
+        return ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> read.get()));
+    }
+    
+    /**
+     * When any of the resources last changed for any of the users, or null if none has been
+     * bumped since stamps started carrying a time. Read from the database, not the cache.
+     */
+    public Instant lastModified(Collection<UUID> userIds, ResourceVersion.Resource... resources) {
+        if (userIds.isEmpty() || resources.length == 0) {
+            return null;
+        }
+        List<Object> args = new ArrayList<>(userIds);
+        for (ResourceVersion.Resource resource : resources) {
+            args.add(resource.name());
+        }
+        String sql = String.format(LAST_MODIFIED, placeholders(userIds.size()), placeholders(resources.length));
+        Timestamp updatedAt = jdbcTemplate.queryForObject(sql, Timestamp.class, args.toArray());
+        return updatedAt != null ? updatedAt.toInstant() : null;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    public record Stamp(UUID userId, ResourceVersion.Resource resource, long version) {
+        
+        /**
+         * Weak ETag for a user's view of a resource. Weak because Tomcat only gzips responses
+         * without a strong tag, and the stamp identifies the data, not the encoded bytes.
+         */
+        public String etag() {
+            return etag(null);
+        }
+        
+        /** Tag for an alternative representation (e.g. "cbor") of the same data. */
+        public String etag(String variant) {
+            String suffix = variant != null ? "-" + variant : "";
+            return "W/\"" + resource.name().toLowerCase() + "-" + version + suffix + "\"";
+        }
+    }
+}
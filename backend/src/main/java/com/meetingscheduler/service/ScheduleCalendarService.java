@@ -0,0 +1,203 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.config.ReplicaRoutingDataSource;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Schedules as an iCalendar feed, one VEVENT per scheduled meeting, for calendar systems to
+ * subscribe to. Like JsonStreams, schedules joined to meetings are read a keyset page on
+ * (scheduled_start, id) at a time, each page in its own short read-only transaction and written
+ * after it ends: a slow subscriber holds a socket, never a pooled connection, and memory stays
+ * at one page. As with the tagged list endpoints, each page is read at least as new as the
+ * stamps behind the feed's validators, on the primary if the replica is behind.
+ */
+@Service
+@Slf4j
+public class ScheduleCalendarService {
+
+    public static final String MEDIA_TYPE = "text/calendar;charset=UTF-8";
+
+    private static final String EVENTS =
+        "SELECT s.id, s.scheduled_start, s.scheduled_end, s.created_at, m.title, m.description, m.priority, m.status, u.full_name " +
+        "FROM schedules s JOIN meetings m ON m.id = s.meeting_id JOIN users u ON u.id = s.user_id " +
+        "WHERE s.user_id IN (%s) AND (s.scheduled_start, s.id) > (?, ?) ORDER BY s.scheduled_start, s.id LIMIT ?";
+
+    // Keyset start: before any schedule
+    private static final Event FIRST = new Event(new UUID(0, 0), LocalDateTime.of(1, 1, 1, 0, 0),
+        null, null, null, null, 0, null, null);
+
+    private static final String PRODUCT_ID = "-//Meeting Scheduler//Schedules//EN";
+
+    private final UserRepository userRepository;
+    private final AssistsIndex assistsIndex;
+    private final ResourceVersionService resourceVersions;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int pageSize;
+
+    public ScheduleCalendarService(UserRepository userRepository,
+                                   AssistsIndex assistsIndex,
+                                   ResourceVersionService resourceVersions,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${scheduler.streaming.page-size:500}") int pageSize) {
+        this.userRepository = userRepository;
+        this.assistsIndex = assistsIndex;
+        this.resourceVersions = resourceVersions;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * What a feed covers and its validators. Titles come from meetings, so both stamps count;
+     * {@code showOwner} adds the executive's name to each title.
+     */
+    public record Feed(String name, List<UUID> userIds, boolean showOwner, List<ResourceVersionService.Stamp> stamps,
+                       String etag, Instant lastModified) {
+    }
+
+    public Feed forUser(UUID userId) {
+        String name = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId))
+            .getFullName();
+        ResourceVersionService.Stamp meetings = resourceVersions.stamp(userId, ResourceVersion.Resource.MEETINGS);
+        ResourceVersionService.Stamp schedules = resourceVersions.stamp(userId, ResourceVersion.Resource.SCHEDULES);
+        String etag = "W/\"ics-" + meetings.version() + "-" + schedules.version() + "\"";
+        return new Feed(name, List.of(userId), false, List.of(meetings, schedules), etag, lastModified(List.of(userId), null));
+    }
+
+    /** Every executive the secretary is currently assigned to, whatever the permission level. */
+    public Feed forSecretary(UUID secretaryId) {
+        String name = userRepository.findById(secretaryId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + secretaryId))
+            .getFullName();
+        List<UUID> executives = assistsIndex.executivesOf(secretaryId).keySet().stream().sorted().toList();
+        // Stamps alone would miss an executive being swapped for another with the same stamps
+        List<ResourceVersionService.Stamp> stamps = new ArrayList<>();
+        StringBuilder tag = new StringBuilder();
+        for (UUID executiveId : executives) {
+            ResourceVersionService.Stamp meetings = resourceVersions.stamp(executiveId, ResourceVersion.Resource.MEETINGS);
+            ResourceVersionService.Stamp schedules = resourceVersions.stamp(executiveId, ResourceVersion.Resource.SCHEDULES);
+            stamps.add(meetings);
+            stamps.add(schedules);
+            tag.append(executiveId).append(':').append(meetings.version()).append(':').append(schedules.version()).append(';');
+        }
+        String etag = "W/\"ics-s-" + sha256(tag.toString()) + "\"";
+        return new Feed(name + " - executives", executives, true, stamps, etag,
+            lastModified(executives, assistsIndex.changedAt(secretaryId)));
+    }
+
+    public void write(Feed feed, OutputStream out) throws IOException {
+        log.info("Exporting calendar of {} users", feed.userIds().size());
+        try (ICalendarWriter calendar = new ICalendarWriter(out)) {
+            calendar.begin("VCALENDAR");
+            calendar.property("VERSION", "2.0");
+            calendar.property("PRODID", PRODUCT_ID);
+            calendar.property("CALSCALE", "GREGORIAN");
+            calendar.text("X-WR-CALNAME", feed.name());
+            if (!feed.userIds().isEmpty()) {
+                List<Event> page = page(feed, FIRST);
+                while (true) {
+                    for (Event event : page) {
+                        writeEvent(calendar, event, feed.showOwner());
+                    }
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                    page = page(feed, page.get(page.size() - 1));
+                }
+            }
+            calendar.end("VCALENDAR");
+        }
+    }
+
+    private List<Event> page(Feed feed, Event after) {
+        List<Event> page = readOnlyTransaction.execute(status ->
+            feed.stamps().stream().allMatch(resourceVersions::reached) ? events(feed, after) : null);
+        if (page == null) {
+            page = ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> events(feed, after)));
+        }
+        return page;
+    }
+
+    private List<Event> events(Feed feed, Event after) {
+        String sql = String.format(EVENTS, String.join(", ", Collections.nCopies(feed.userIds().size(), "?")));
+        List<Object> args = new ArrayList<>(feed.userIds());
+        args.add(after.start());
+        args.add(after.id());
+        args.add(pageSize);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> event(rs), args.toArray());
+    }
+
+    private static Event event(ResultSet rs) throws SQLException {
+        Timestamp created = rs.getTimestamp("created_at");
+        return new Event(rs.getObject("id", UUID.class), rs.getTimestamp("scheduled_start").toLocalDateTime(),
+            rs.getTimestamp("scheduled_end").toLocalDateTime(), created != null ? created.toLocalDateTime() : null,
+            rs.getString("title"), rs.getString("description"), rs.getInt("priority"), rs.getString("status"),
+            rs.getString("full_name"));
+    }
+
+    private static void writeEvent(ICalendarWriter calendar, Event event, boolean showOwner) throws IOException {
+        calendar.begin("VEVENT");
+        calendar.property("UID", event.id().toString());
+        // The schedule row's own time, not now(): the output must not change between requests
+        calendar.dateTime("DTSTAMP", event.created() != null ? event.created() : event.start());
+        calendar.dateTime("DTSTART", event.start());
+        calendar.dateTime("DTEND", event.end());
+        calendar.text("SUMMARY", showOwner ? event.title() + " (" + event.owner() + ")" : event.title());
+        calendar.text("DESCRIPTION", event.description());
+        // 10 (highest) to 2 become 1 to 9, the reverse of the import mapping
+        calendar.property("PRIORITY", Integer.toString(Math.max(1, Math.min(9, 11 - event.priority()))));
+        boolean cancelled = Meeting.MeetingStatus.cancelled.name().equals(event.status());
+        calendar.property("STATUS", cancelled ? "CANCELLED" : "CONFIRMED");
+        calendar.end("VEVENT");
+    }
+
+    private record Event(UUID id, LocalDateTime start, LocalDateTime end, LocalDateTime created, String title,
+                         String description, int priority, String status, String owner) {
+    }
+
+    // A collision would answer 304 for a changed calendar, so not String.hashCode
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Instant lastModified(List<UUID> userIds, Instant assignmentsChanged) {
+        Instant modified = resourceVersions.lastModified(userIds,
+            ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        if (assignmentsChanged != null && (modified == null || assignmentsChanged.isAfter(modified))) {
+            return assignmentsChanged;
+        }
+        return modified;
+    }
+}
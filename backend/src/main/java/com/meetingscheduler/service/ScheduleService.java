@@ -1,17 +1,30 @@
 package com.meetingscheduler.service;
 
 import com.meetingscheduler.algorithm.ScheduleOptimizer;
+import com.meetingscheduler.config.ReplicaRoutingDataSource;
 import com.meetingscheduler.entity.*;
 import com.meetingscheduler.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -21,9 +34,32 @@ public class ScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final MeetingRepository meetingRepository;
     private final AvailabilityRepository availabilityRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationOutbox notificationOutbox;
     private final ScheduleOptimizer scheduleOptimizer;
+    private final SystemStatisticsService statisticsService;
+    private final OptimizationLockService optimizationLockService;
+    private final PushService pushService;
+    private final ResourceVersionService resourceVersions;
+    private final ChangeLogService changeLog;
+    private final ExternalBusySlotRepository externalBusySlotRepository;
+    private final CalendarSyncService calendarSync;
+    private final IdempotencyStore idempotencyStore;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
     
+    @Value("${scheduler.optimization.max-attempts:3}")
+    private int maxOptimizationAttempts;
+    
+    private Counter optimizationConflicts;
+    
+    @PostConstruct
+    void registerMetrics() {
+        optimizationConflicts = Counter.builder("schedule.optimize.conflicts")
+            .description("Optimizations rebased because their snapshot went stale before commit")
+            .register(meterRegistry);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByUser(UUID userId) {
         log.info("Fetching schedules for user ID: {}", userId);
         // Return schedules sorted by optimization score (highest first) so highest priority meetings appear first
@@ -32,16 +68,81 @@ public class ScheduleService {
         return schedules;
     }
     
-    @Transactional
+    /** Keyset pages for JsonStreams, which reads each one in its own read-only transaction. */
+    public List<Schedule> getSchedulesByUserAfter(UUID userId, Schedule after, int limit) {
+        return scheduleRepository.findPageByUserId(userId, after, limit);
+    }
+    
+    /**
+     * Runs in three phases so the CPU-bound solve never holds a pooled connection or row locks:
+     * a read-only snapshot load, the solve itself outside any transaction, and a short write
+     * transaction that only commits if the snapshot is still current (otherwise it rebases).
+     * Runs are serialized per user, on this node and across the cluster.
+     */
     public ScheduleOptimizer.OptimizedScheduleResult optimizeSchedule(UUID userId) {
+        return optimizeSchedule(userId, null);
+    }
+    
+    /**
+     * With an idempotency key, the result is stored in the transaction that writes the
+     * schedules, and a later call with the same key gets it back without solving again.
+     */
+    public ScheduleOptimizer.OptimizedScheduleResult optimizeSchedule(UUID userId, String idempotencyKey) {
+        return optimizationLockService.withUserLock(userId, () -> optimizeScheduleLocked(userId, idempotencyKey));
+    }
+    
+    private ScheduleOptimizer.OptimizedScheduleResult optimizeScheduleLocked(UUID userId, String idempotencyKey) {
         log.info("\n" + "=".repeat(80));
         log.info("🎯 SCHEDULE SERVICE: Starting optimization for user: {}", userId);
         log.info("=".repeat(80));
         
         log.info("Optimizing schedule for user ID: {}", userId);
         
+        for (int attempt = 1; attempt <= maxOptimizationAttempts; attempt++) {
+            // A duplicate on another node may have committed while this one waited or solved
+            if (idempotencyKey != null) {
+                Optional<ScheduleOptimizer.OptimizedScheduleResult> stored = idempotencyStore.find(userId, idempotencyKey,
+                    ScheduleOptimizer.OptimizedScheduleResult.class);
+                if (stored.isPresent()) {
+                    log.info("Replaying stored optimization for user {} (idempotency key {})", userId, idempotencyKey);
+                    return stored.get();
+                }
+            }
+            
+            // Phase 1: consistent read-only snapshot. On the primary, which phase 3 compares it
+            // against: a lagging replica would look like a change and cost a rebase
+            OptimizationSnapshot snapshot = timePhase("snapshot", () -> ReplicaRoutingDataSource.onPrimary(
+                () -> inTransaction(true, () -> loadOptimizationSnapshot(userId))));
+            
+            // Phase 2: solve with no connection held
+            System.out.println("\n🚀 Calling ScheduleOptimizer.optimizeSchedule()...\n");
+            ScheduleOptimizer.OptimizedScheduleResult result = timePhase("solve",
+                () -> scheduleOptimizer.optimizeSchedule(snapshot.meetings(), snapshot.availabilities(), snapshot.busy()));
+            
+            // Phase 3: short write transaction, only if nothing changed underneath us
+            boolean committed;
+            try {
+                committed = timePhase("commit",
+                    () -> inTransaction(false, () -> saveOptimizationResult(userId, snapshot, result, idempotencyKey)));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                committed = false;
+            }
+            if (committed) {
+                logOptimizationSummary(result);
+                return result;
+            }
+            
+            optimizationConflicts.increment();
+            log.warn("Meetings or availability for user {} changed during optimization (attempt {}/{}), rebasing",
+                userId, attempt, maxOptimizationAttempts);
+        }
+        
+        throw new IllegalStateException("Schedule kept changing during optimization, please try again");
+    }
+    
+    private OptimizationSnapshot loadOptimizationSnapshot(UUID userId) {
         // Get pending meetings for the user
-        List<Meeting> pendingMeetings = meetingRepository.findByUserIdAndStatusOrderByPriorityDescDeadlineAsc(
+        List<Meeting> pendingMeetings = meetingRepository.findWithUserByUserIdAndStatusOrderByPriorityDescDeadlineAsc(
             userId, Meeting.MeetingStatus.pending);
         
         System.out.println("📋 Retrieved " + pendingMeetings.size() + " pending meetings from database");
@@ -86,11 +187,33 @@ public class ScheduleService {
             log.info("Availability: {} to {}", availability.getStartTime(), availability.getEndTime());
         }
         
-        System.out.println("\n🚀 Calling ScheduleOptimizer.optimizeSchedule()...\n");
+        // Busy times pulled from the user's external calendars are off limits
+        List<ScheduleOptimizer.OccupiedSlot> busy = externalBusySlotRepository
+            .findByUserIdAndEndTimeAfterOrderByStartTimeAsc(userId, LocalDateTime.now()).stream()
+            .map(slot -> new ScheduleOptimizer.OccupiedSlot(slot.getStartTime(), slot.getEndTime()))
+            .toList();
+        log.info("Found {} external busy slots for user {}", busy.size(), userId);
         
-        // Run optimization algorithm
-        ScheduleOptimizer.OptimizedScheduleResult result = scheduleOptimizer.optimizeSchedule(
-            pendingMeetings, availabilities);
+        return new OptimizationSnapshot(pendingMeetings, availabilities, busy, loadOptimizationInputs(userId));
+    }
+    
+    // Scalar projections always hit the database, unlike entity queries answered from the persistence context
+    private List<List<Object>> loadOptimizationInputs(UUID userId) {
+        List<List<Object>> inputs = new ArrayList<>();
+        meetingRepository.findOptimizationInputs(userId, Meeting.MeetingStatus.pending)
+            .forEach(row -> inputs.add(Arrays.asList(row)));
+        availabilityRepository.findOptimizationInputs(userId)
+            .forEach(row -> inputs.add(Arrays.asList(row)));
+        return inputs;
+    }
+    
+    private boolean saveOptimizationResult(UUID userId, OptimizationSnapshot snapshot,
+                                           ScheduleOptimizer.OptimizedScheduleResult result, String idempotencyKey) {
+        // Other nodes optimizing the same user wait here, then see our changes in the check below
+        optimizationLockService.lockForTransaction(userId);
+        if (!loadOptimizationInputs(userId).equals(snapshot.inputs())) {
+            return false;
+        }
         
         System.out.println("\n💾 SAVING SCHEDULED MEETINGS TO DATABASE:");
         
@@ -102,17 +225,26 @@ public class ScheduleService {
                 System.out.println(String.format("   🗑️  Deleting %d existing schedule(s) for meeting '%s'", 
                     existingSchedules.size(), meeting.getTitle()));
                 scheduleRepository.deleteAll(existingSchedules);
+                existingSchedules.forEach(existing -> statisticsService.scheduleDeleted(existing.getOptimizationScore()));
+                changeLog.recordDeletes(userId, ResourceVersion.Resource.SCHEDULES,
+                    existingSchedules.stream().map(Schedule::getId).toList());
             }
         }
         
-        // Save scheduled meetings
+        // Save scheduled meetings. The result holds the snapshot's (detached) meetings, loaded with
+        // their user so it serializes without a session; the merged copies are only used here
+        List<Meeting> savedMeetings = new ArrayList<>();
+        List<UUID> savedScheduleIds = new ArrayList<>();
         for (int i = 0; i < result.getScheduledMeetings().size(); i++) {
             ScheduleOptimizer.ScheduledMeeting scheduledMeeting = result.getScheduledMeetings().get(i);
             
             // Update meeting status to scheduled
             Meeting meeting = scheduledMeeting.getMeeting();
+            Meeting.MeetingStatus previousStatus = meeting.getStatus();
             meeting.setStatus(Meeting.MeetingStatus.scheduled);
-            meetingRepository.save(meeting);
+            Meeting savedMeeting = meetingRepository.save(meeting);
+            savedMeetings.add(savedMeeting);
+            statisticsService.meetingStatusChanged(previousStatus, Meeting.MeetingStatus.scheduled);
             System.out.println(String.format("   %d. Updated meeting '%s' status to SCHEDULED", i + 1, meeting.getTitle()));
             
             // Get individual meeting score (not the overall average)
@@ -126,14 +258,16 @@ public class ScheduleService {
             
             // Create schedule record
             Schedule schedule = new Schedule();
-            schedule.setMeeting(meeting);
-            schedule.setUser(meeting.getUser());
+            schedule.setMeeting(savedMeeting);
+            schedule.setUser(savedMeeting.getUser());
             schedule.setScheduledStart(scheduledMeeting.getScheduledStart());
             schedule.setScheduledEnd(scheduledMeeting.getScheduledEnd());
             // Use individual meeting score, not the overall optimization score
             schedule.setOptimizationScore(individualScore);
             
             Schedule savedSchedule = scheduleRepository.save(schedule);
+            statisticsService.scheduleSaved(savedSchedule.getOptimizationScore());
+            savedScheduleIds.add(savedSchedule.getId());
             log.info("      ✅ Created schedule record (ID: {})", savedSchedule.getId());
             log.info("      💾 SAVED TO DATABASE - Score: {}", String.format("%.3f", savedSchedule.getOptimizationScore()));
             
@@ -148,14 +282,27 @@ public class ScheduleService {
             log.info("");
         }
         
-        // Send notification
-        if (!pendingMeetings.isEmpty()) {
-            createNotification(meetingRepository.findById(pendingMeetings.get(0).getId()).get().getUser(),
-                              Notification.NotificationType.SCHEDULE_OPTIMIZED,
-                              String.format("Schedule optimized! %d meetings scheduled.", result.getScheduledMeetings().size()));
-            System.out.println("📧 Notification sent to user");
+        pushScheduleChange(userId, result.getScheduledMeetings().stream()
+            .map(scheduledMeeting -> scheduledMeeting.getMeeting().getId())
+            .toList(), savedScheduleIds);
+        // Flushed so the result (and a stored idempotent copy) carries the versions this commit writes
+        meetingRepository.flush();
+        for (int i = 0; i < savedMeetings.size(); i++) {
+            result.getScheduledMeetings().get(i).getMeeting().setVersion(savedMeetings.get(i).getVersion());
+        }
+        if (idempotencyKey != null) {
+            idempotencyStore.save(userId, idempotencyKey, result);
         }
         
+        // Send notification
+        createNotification(snapshot.meetings().get(0).getUser(),
+                          Notification.NotificationType.SCHEDULE_OPTIMIZED,
+                          String.format("Schedule optimized! %d meetings scheduled.", result.getScheduledMeetings().size()));
+        System.out.println("📧 Notification sent to user");
+        return true;
+    }
+    
+    private void logOptimizationSummary(ScheduleOptimizer.OptimizedScheduleResult result) {
         log.info("\n" + "=".repeat(80));
         log.info("✅ SCHEDULE SERVICE: Optimization completed successfully!");
         log.info("=".repeat(80));
@@ -178,7 +325,25 @@ public class ScheduleService {
         log.info("=".repeat(80) + "\n");
         
         log.info("Schedule optimization completed. {} meetings scheduled.", result.getScheduledMeetings().size());
-        return result;
+    }
+    
+    private <T> T inTransaction(boolean readOnly, Supplier<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> action.get());
+    }
+    
+    // Snapshot and commit hold a pooled connection for their whole duration; solve holds none
+    private <T> T timePhase(String phase, Supplier<T> action) {
+        return Timer.builder("schedule.optimize.phase")
+            .tag("phase", phase)
+            .description("Time spent in each optimization phase")
+            .register(meterRegistry)
+            .record(action);
+    }
+    
+    private record OptimizationSnapshot(List<Meeting> meetings, List<Availability> availabilities,
+                                        List<ScheduleOptimizer.OccupiedSlot> busy, List<List<Object>> inputs) {
     }
     
     @Transactional
@@ -195,8 +360,10 @@ public class ScheduleService {
         }
         
         // Update meeting status to scheduled
+        Meeting.MeetingStatus previousStatus = meeting.getStatus();
         meeting.setStatus(Meeting.MeetingStatus.scheduled);
         meetingRepository.save(meeting);
+        statisticsService.meetingStatusChanged(previousStatus, Meeting.MeetingStatus.scheduled);
         
         // Create custom schedule
         Schedule schedule = new Schedule();
@@ -207,6 +374,8 @@ public class ScheduleService {
         schedule.setOptimizationScore(1.0); // Custom schedules get perfect score
         
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        statisticsService.scheduleSaved(savedSchedule.getOptimizationScore());
+        pushScheduleChange(userId, List.of(meetingId), List.of(savedSchedule.getId()));
         
         // Notify user about custom schedule
         createNotification(meeting.getUser(), Notification.NotificationType.MEETING_SCHEDULED,
@@ -249,12 +418,16 @@ public class ScheduleService {
             schedule.setOptimizationScore(1.0);
             
             // Update meeting status to scheduled
+            Meeting.MeetingStatus previousStatus = meeting.getStatus();
             meeting.setStatus(Meeting.MeetingStatus.scheduled);
             meetingRepository.save(meeting);
+            statisticsService.meetingStatusChanged(previousStatus, Meeting.MeetingStatus.scheduled);
+            statisticsService.scheduleSaved(schedule.getOptimizationScore());
             log.info("Creating new schedule for meeting: {}", meeting.getTitle());
         }
         
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        pushScheduleChange(userId, List.of(meetingId), List.of(savedSchedule.getId()));
         
         // Notify user about schedule update
         createNotification(meeting.getUser(), Notification.NotificationType.MEETING_SCHEDULED,
@@ -264,12 +437,17 @@ public class ScheduleService {
         return savedSchedule;
     }
     
+    private void pushScheduleChange(UUID userId, List<UUID> meetingIds, List<UUID> scheduleIds) {
+        // Every schedule write also moves its meeting to "scheduled"
+        resourceVersions.bump(userId, ResourceVersion.Resource.MEETINGS, ResourceVersion.Resource.SCHEDULES);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.MEETINGS, meetingIds);
+        changeLog.recordUpserts(userId, ResourceVersion.Resource.SCHEDULES, scheduleIds);
+        pushService.publish(userId, "schedule", Map.of("meetingIds", meetingIds));
+        calendarSync.requestSync(userId);
+    }
+    
     private void createNotification(User user, Notification.NotificationType type, String message) {
-        Notification notification = new Notification();
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setUser(user);
-        notification.setIsRead(false);
-        notificationRepository.save(notification);
+        // Delivered asynchronously by NotificationDispatcher once this transaction commits
+        notificationOutbox.enqueue(user.getId(), type, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.dto.SecretaryOverview;
+import com.meetingscheduler.entity.Assists;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.entity.User;
+import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
+import com.meetingscheduler.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecretaryService {
+    
+    private final AssistsIndex assistsIndex;
+    private final UserRepository userRepository;
+    private final MeetingRepository meetingRepository;
+    private final ScheduleRepository scheduleRepository;
+    
+    /**
+     * Meetings and schedules of the secretary's executives, or of just {@code executiveId} when
+     * given. Three queries however many executives there are.
+     */
+    @Transactional(readOnly = true)
+    public SecretaryOverview getOverview(UUID secretaryId, UUID executiveId) {
+        Map<UUID, Assists.Permissions> assigned = executiveId == null
+            ? assistsIndex.executivesOf(secretaryId)
+            : Map.of(executiveId, assistsIndex.permissions(secretaryId, executiveId).orElseThrow(() ->
+                new AccessDeniedException("Secretary " + secretaryId + " is not assigned to executive " + executiveId)));
+        log.info("Fetching overview of {} executives for secretary ID: {}", assigned.size(), secretaryId);
+        
+        SecretaryOverview overview = new SecretaryOverview();
+        overview.setSecretaryId(secretaryId);
+        if (assigned.isEmpty()) {
+            return overview;
+        }
+        
+        Map<UUID, SecretaryOverview.ExecutiveOverview> byExecutive = new LinkedHashMap<>();
+        userRepository.findAllById(assigned.keySet()).stream()
+            .sorted(Comparator.comparing(User::getFullName))
+            .forEach(executive -> {
+                SecretaryOverview.ExecutiveOverview entry = new SecretaryOverview.ExecutiveOverview();
+                entry.setExecutive(executive);
+                entry.setPermissions(assigned.get(executive.getId()));
+                byExecutive.put(executive.getId(), entry);
+            });
+        for (Meeting meeting : meetingRepository.findWithUserByUserIdIn(byExecutive.keySet())) {
+            byExecutive.get(meeting.getUser().getId()).getMeetings().add(meeting);
+        }
+        for (Schedule schedule : scheduleRepository.findWithMeetingAndUserByUserIdInOrderByOptimizationScoreDesc(byExecutive.keySet())) {
+            byExecutive.get(schedule.getUser().getId()).getSchedules().add(schedule);
+        }
+        overview.getExecutives().addAll(byExecutive.values());
+        return overview;
+    }
+}
@@ -0,0 +1,120 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.dto.SyncResponse;
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.ResourceVersion;
+import com.meetingscheduler.entity.Schedule;
+import com.meetingscheduler.repository.AvailabilityRepository;
+import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class SyncService {
+    
+    private final ChangeLogService changeLog;
+    private final MeetingRepository meetingRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final int pageSize;
+    
+    public SyncService(ChangeLogService changeLog,
+                       MeetingRepository meetingRepository,
+                       ScheduleRepository scheduleRepository,
+                       AvailabilityRepository availabilityRepository,
+                       @Value("${scheduler.sync.page-size:500}") int pageSize) {
+        this.changeLog = changeLog;
+        this.meetingRepository = meetingRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.pageSize = pageSize;
+    }
+    
+    @Transactional(readOnly = true)
+    public SyncResponse sync(UUID userId, String since) {
+        ChangeLogService.Cursor cursor = since == null || since.isBlank() ? null : ChangeLogService.Cursor.parse(since);
+        // Taken before anything is read, so the data below is at least as new as the cursor handed out
+        ChangeLogService.Cursor horizon = changeLog.horizon();
+        if (cursor == null || !changeLog.isCurrent(cursor)) {
+            return fullState(userId, horizon);
+        }
+        
+        List<ChangeLogService.Entry> entries = changeLog.page(userId, cursor, horizon, pageSize);
+        SyncResponse response = new SyncResponse();
+        response.setHasMore(entries.size() == pageSize);
+        response.setCursor((response.isHasMore() ? cursor.after(entries.get(entries.size() - 1)) : horizon).toString());
+        
+        // Last entry per entity wins; the current row is sent, not the logged change
+        Map<ResourceVersion.Resource, Map<UUID, Boolean>> latest = new EnumMap<>(ResourceVersion.Resource.class);
+        for (ChangeLogService.Entry entry : entries) {
+            latest.computeIfAbsent(entry.resource(), r -> new LinkedHashMap<>()).put(entry.entityId(), entry.deleted());
+        }
+        latest.forEach((resource, changes) -> {
+            List<UUID> upserted = new ArrayList<>();
+            List<UUID> deleted = deletedList(response, resource);
+            changes.forEach((id, isDeleted) -> (isDeleted ? deleted : upserted).add(id));
+            if (!upserted.isEmpty()) {
+                Set<UUID> found = loadInto(response, resource, userId, upserted);
+                // Gone by now; its delete entry is past this page or the horizon
+                upserted.stream().filter(id -> !found.contains(id)).forEach(deleted::add);
+            }
+        });
+        
+        log.debug("Sync for user {}: {} log entries after {}", userId, entries.size(), cursor);
+        return response;
+    }
+    
+    private SyncResponse fullState(UUID userId, ChangeLogService.Cursor horizon) {
+        SyncResponse response = new SyncResponse();
+        response.setReset(true);
+        response.setCursor(horizon.toString());
+        response.setMeetings(meetingRepository.findByUserId(userId));
+        response.setSchedules(scheduleRepository.findByUserIdOrderByOptimizationScoreDesc(userId));
+        response.setAvailability(availabilityRepository.findByUserIdOrderByStartTimeAsc(userId));
+        return response;
+    }
+    
+    private Set<UUID> loadInto(SyncResponse response, ResourceVersion.Resource resource, UUID userId, List<UUID> ids) {
+        return switch (resource) {
+            case MEETINGS -> {
+                List<Meeting> meetings = meetingRepository.findByUserIdAndIdIn(userId, ids);
+                response.getMeetings().addAll(meetings);
+                yield meetings.stream().map(Meeting::getId).collect(Collectors.toSet());
+            }
+            case SCHEDULES -> {
+                List<Schedule> schedules = scheduleRepository.findByUserIdAndIdIn(userId, ids);
+                response.getSchedules().addAll(schedules);
+                yield schedules.stream().map(Schedule::getId).collect(Collectors.toSet());
+            }
+            case AVAILABILITY -> {
+                List<Availability> availability = availabilityRepository.findByUserIdAndIdIn(userId, ids);
+                response.getAvailability().addAll(availability);
+                yield availability.stream().map(Availability::getId).collect(Collectors.toSet());
+            }
+            case NOTIFICATIONS -> throw new IllegalStateException("Notifications are not in the change log");
+        };
+    }
+    
+    private static List<UUID> deletedList(SyncResponse response, ResourceVersion.Resource resource) {
+        return switch (resource) {
+            case MEETINGS -> response.getDeletedMeetings();
+            case SCHEDULES -> response.getDeletedSchedules();
+            case AVAILABILITY -> response.getDeletedAvailability();
+            case NOTIFICATIONS -> throw new IllegalStateException("Notifications are not in the change log");
+        };
+    }
+}
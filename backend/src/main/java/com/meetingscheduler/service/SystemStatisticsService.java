@@ -0,0 +1,183 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.User;
+import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
+import com.meetingscheduler.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory user/meeting/schedule counters for the admin dashboard.
+ * Writers report their changes after commit; a periodic reconcile against
+ * aggregate queries corrects any drift (bulk deletes, other nodes, races),
+ * leaving alone any counter that moved while the aggregates were being read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SystemStatisticsService {
+
+    private final UserRepository userRepository;
+    private final MeetingRepository meetingRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    private final Map<User.UserRole, AtomicLong> usersByRole = newCounters(User.UserRole.class);
+    private final Map<Meeting.MeetingStatus, AtomicLong> meetingsByStatus = newCounters(Meeting.MeetingStatus.class);
+
+    // Guarded by "this": the sum and the count must move together
+    private long scheduleCount;
+    private double scoreSum;
+    private long scoreChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scheduler.statistics.reconcile-interval-ms:300000}",
+               initialDelayString = "${scheduler.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        log.debug("Reconciling system statistics with the database");
+
+        // Read before the queries: a counter that moves meanwhile had a delta applied the queries may not include
+        Map<User.UserRole, Long> rolesBefore = values(usersByRole);
+        Map<Meeting.MeetingStatus, Long> statusesBefore = values(meetingsByStatus);
+        long scoreChangesBefore;
+        synchronized (this) {
+            scoreChangesBefore = scoreChanges;
+        }
+
+        Map<User.UserRole, Long> roleTotals = new EnumMap<>(User.UserRole.class);
+        for (UserRepository.RoleCount row : userRepository.countByRole()) {
+            roleTotals.put(row.getRole(), row.getTotal());
+        }
+        Map<Meeting.MeetingStatus, Long> statusTotals = new EnumMap<>(Meeting.MeetingStatus.class);
+        for (MeetingRepository.StatusCount row : meetingRepository.countByStatus()) {
+            statusTotals.put(row.getStatus(), row.getTotal());
+        }
+        ScheduleRepository.ScoreTotals scoreTotals = scheduleRepository.sumOptimizationScores();
+
+        // One that moved is left for the next round
+        usersByRole.forEach((role, counter) -> counter.compareAndSet(rolesBefore.get(role), roleTotals.getOrDefault(role, 0L)));
+        meetingsByStatus.forEach((status, counter) ->
+            counter.compareAndSet(statusesBefore.get(status), statusTotals.getOrDefault(status, 0L)));
+        synchronized (this) {
+            if (scoreChanges == scoreChangesBefore) {
+                scheduleCount = scoreTotals.getTotal();
+                scoreSum = scoreTotals.getScoreSum();
+            }
+        }
+    }
+
+    public void userCreated(User.UserRole role) {
+        TransactionCallbacks.afterCommit(() -> increment(usersByRole, role, 1));
+    }
+
+    public void userRoleChanged(User.UserRole oldRole, User.UserRole newRole) {
+        TransactionCallbacks.afterCommit(() -> {
+            increment(usersByRole, oldRole, -1);
+            increment(usersByRole, newRole, 1);
+        });
+    }
+
+    public void userDeleted() {
+        // Deleting a user cascades to meetings and more, so recount everything
+        TransactionCallbacks.afterCommit(this::reconcile);
+    }
+
+    public void meetingCreated(Meeting.MeetingStatus status) {
+        meetingsCreated(status, 1);
+    }
+
+    public void meetingsCreated(Meeting.MeetingStatus status, long count) {
+        TransactionCallbacks.afterCommit(() -> increment(meetingsByStatus, status, count));
+    }
+
+    public void meetingStatusChanged(Meeting.MeetingStatus oldStatus, Meeting.MeetingStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            increment(meetingsByStatus, oldStatus, -1);
+            increment(meetingsByStatus, newStatus, 1);
+        });
+    }
+
+    public void meetingsStatusChanged(Map<Meeting.MeetingStatus, Long> movedFrom, Meeting.MeetingStatus newStatus) {
+        TransactionCallbacks.afterCommit(() -> movedFrom.forEach((oldStatus, count) -> {
+            if (oldStatus != newStatus) {
+                increment(meetingsByStatus, oldStatus, -count);
+                increment(meetingsByStatus, newStatus, count);
+            }
+        }));
+    }
+    
+    public void meetingDeleted(Meeting.MeetingStatus status) {
+        TransactionCallbacks.afterCommit(() -> increment(meetingsByStatus, status, -1));
+    }
+
+    public void scheduleSaved(Double score) {
+        if (score != null) {
+            TransactionCallbacks.afterCommit(() -> adjustScores(1, score));
+        }
+    }
+
+    public void scheduleDeleted(Double score) {
+        if (score != null) {
+            TransactionCallbacks.afterCommit(() -> adjustScores(-1, -score));
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+
+        stats.put("totalUsers", usersByRole.values().stream().mapToLong(AtomicLong::get).sum());
+        stats.put("activeExecutives", usersByRole.get(User.UserRole.executive).get());
+        stats.put("activeSecretaries", usersByRole.get(User.UserRole.secretary).get());
+        stats.put("activeAdmins", usersByRole.get(User.UserRole.admin).get());
+
+        stats.put("totalMeetings", meetingsByStatus.values().stream().mapToLong(AtomicLong::get).sum());
+        stats.put("completedMeetings", meetingsByStatus.get(Meeting.MeetingStatus.completed).get());
+        stats.put("pendingMeetings", meetingsByStatus.get(Meeting.MeetingStatus.pending).get());
+        stats.put("scheduledMeetings", meetingsByStatus.get(Meeting.MeetingStatus.scheduled).get());
+
+        synchronized (this) {
+            stats.put("averageOptimizationScore", scheduleCount > 0 ? scoreSum / scheduleCount : 0.0);
+        }
+        return stats;
+    }
+
+    private synchronized void adjustScores(long countDelta, double scoreDelta) {
+        scheduleCount += countDelta;
+        scoreSum += scoreDelta;
+        scoreChanges++;
+    }
+
+    private static <E extends Enum<E>> void increment(Map<E, AtomicLong> counters, E key, long delta) {
+        if (key != null) {
+            counters.get(key).addAndGet(delta);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> values(Map<E, AtomicLong> counters) {
+        Map<E, Long> values = new HashMap<>();
+        counters.forEach((key, counter) -> values.put(key, counter.get()));
+        return values;
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> newCounters(Class<E> type) {
+        // Every key is present up front, so the map itself is never mutated after construction
+        Map<E, AtomicLong> counters = new EnumMap<>(type);
+        for (E key : type.getEnumConstants()) {
+            counters.put(key, new AtomicLong());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,49 @@
+package com.meetingscheduler.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Emails recently looked up at login without a matching user, so repeated attempts (typos,
+ * credential stuffing) are refused without a query. Registration on this node forgets the
+ * email at once; one registered on another node is found once the entry expires.
+ */
+@Component
+public class UnknownEmailCache {
+
+    private final Cache<String, Boolean> unknown;
+    private final Counter hits;
+
+    public UnknownEmailCache(MeterRegistry meterRegistry,
+                             @Value("${scheduler.auth.unknown-emails.max-size:10000}") long maxSize,
+                             @Value("${scheduler.auth.unknown-emails.ttl-ms:30000}") long ttlMillis) {
+        this.unknown = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .build();
+        this.hits = Counter.builder("auth.unknown-email.hits")
+            .description("Logins refused from the unknown email cache").register(meterRegistry);
+    }
+
+    public boolean isUnknown(String email) {
+        boolean known = unknown.getIfPresent(email) == null;
+        if (!known) {
+            hits.increment();
+        }
+        return !known;
+    }
+
+    public void remember(String email) {
+        unknown.put(email, Boolean.TRUE);
+    }
+
+    public void forget(String email) {
+        unknown.invalidate(email);
+    }
+}
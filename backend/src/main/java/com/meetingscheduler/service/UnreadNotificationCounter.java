@@ -0,0 +1,137 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.NotificationOutboxEvent;
+import com.meetingscheduler.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts served from memory. A user's count is loaded from
+ * the database on first request and then moved by every insert, mark-read and delete after
+ * commit. Changes the node cannot observe (other nodes, retention cutoff moving) are picked
+ * up by the periodic reconcile, which recounts the tracked users a chunk at a time and leaves
+ * alone any count that moved while its chunk was being counted.
+ */
+@Service
+@Slf4j
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPartitionManager partitionManager;
+    private final int maxTrackedUsers;
+    private final int reconcileChunk;
+
+    private final ConcurrentHashMap<UUID, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     NotificationPartitionManager partitionManager,
+                                     @Value("${scheduler.notifications.unread-counter.max-users:100000}") int maxTrackedUsers,
+                                     @Value("${scheduler.notifications.unread-counter.reconcile-chunk:500}") int reconcileChunk) {
+        this.notificationRepository = notificationRepository;
+        this.partitionManager = partitionManager;
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.reconcileChunk = reconcileChunk;
+    }
+
+    public long get(UUID userId) {
+        AtomicLong count = counts.get(userId);
+        if (count == null) {
+            // Loaded outside the map so the query never runs while holding a bin lock
+            long loaded = notificationRepository.countByUserIdAndIsReadAndCreatedAtGreaterThanEqual(
+                    userId, false, partitionManager.retentionCutoff());
+            count = counts.computeIfAbsent(userId, id -> new AtomicLong(loaded));
+        }
+        // Briefly negative if a decrement races the initial load; never report that
+        return Math.max(0, count.get());
+    }
+
+    @EventListener
+    public void onNotificationsDispatched(NotificationsDispatchedEvent event) {
+        // Published after the dispatcher commits, so these are already visible to readers
+        for (NotificationOutboxEvent notification : event.notifications()) {
+            adjust(notification.getUserId(), 1);
+        }
+    }
+
+    public void markedRead(UUID userId, long count) {
+        if (count > 0) {
+            TransactionCallbacks.afterCommit(() -> adjust(userId, -count));
+        }
+    }
+
+    /** For changes whose effect on the unread count isn't known; the next read reloads it. */
+    public void invalidate(UUID userId) {
+        TransactionCallbacks.afterCommit(() -> counts.remove(userId));
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.notifications.unread-counter.reconcile-interval-ms:60000}",
+               initialDelayString = "${scheduler.notifications.unread-counter.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (counts.isEmpty()) {
+            return;
+        }
+        if (counts.size() > maxTrackedUsers) {
+            log.info("Unread counter tracks {} users, clearing it", counts.size());
+            counts.clear();
+            return;
+        }
+
+        List<UUID> tracked = new ArrayList<>(counts.keySet());
+        int corrected = 0;
+        for (int from = 0; from < tracked.size(); from += reconcileChunk) {
+            corrected += reconcile(tracked.subList(from, Math.min(from + reconcileChunk, tracked.size())));
+        }
+        log.debug("Reconciled unread counts for {} users, corrected {}", tracked.size(), corrected);
+    }
+
+    private int reconcile(List<UUID> userIds) {
+        // Read before the query: a count that moves meanwhile had a delta applied the query may not include
+        Map<UUID, Tracked> before = new HashMap<>();
+        for (UUID userId : userIds) {
+            AtomicLong count = counts.get(userId);
+            if (count != null) {
+                before.put(userId, new Tracked(count, count.get()));
+            }
+        }
+        if (before.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Long> unread = new HashMap<>();
+        for (NotificationRepository.UnreadCount row
+                : notificationRepository.countUnreadByUserIds(before.keySet(), partitionManager.retentionCutoff())) {
+            unread.put(row.getUserId(), row.getTotal());
+        }
+        int corrected = 0;
+        for (Map.Entry<UUID, Tracked> entry : before.entrySet()) {
+            long actual = unread.getOrDefault(entry.getKey(), 0L);
+            Tracked tracked = entry.getValue();
+            // One that moved is left for the next round; one invalidated and reloaded since is a different object
+            if (tracked.value() != actual && tracked.count().compareAndSet(tracked.value(), actual)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private void adjust(UUID userId, long delta) {
+        // Users nobody has asked about yet are not tracked; their first read loads the exact count
+        AtomicLong count = counts.get(userId);
+        if (count != null) {
+            count.addAndGet(delta);
+        }
+    }
+
+    private record Tracked(AtomicLong count, long value) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix search over users' names and emails for the participant picker, answered from
+ * memory. Each user is indexed under a few normalized keys (lower case, accents stripped):
+ * the email, the full name and each word of the name, so "smi" finds "John Smith". The keys
+ * sit in one sorted array; a search binary-searches the first key with the prefix and reads
+ * forward until it has enough distinct users, so results come in key order.
+ *
+ * Like AssistsIndex: loaded at startup, changed after commit by writes through this node,
+ * reloaded periodically for writes made elsewhere. Readers get an immutable snapshot;
+ * writers merge their change into a copy under a lock.
+ */
+@Service
+@Slf4j
+public class UserSearchIndex {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+    private volatile Key[] keys = new Key[0];
+    private long changes; // guarded by lock
+
+    public UserSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scheduler.user-search.reload-interval-ms:300000}",
+               initialDelayString = "${scheduler.user-search.reload-interval-ms:300000}")
+    public void reload() {
+        long seen;
+        synchronized (lock) {
+            seen = changes;
+        }
+        List<Key> loaded = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, email, full_name, role FROM users", row -> {
+            Entry entry = new Entry(row.getObject("id", UUID.class), row.getString("email"),
+                row.getString("full_name"), User.UserRole.valueOf(row.getString("role")));
+            loaded.addAll(keysOf(entry));
+        });
+        Key[] sorted = loaded.toArray(Key[]::new);
+        Arrays.sort(sorted, Key.ORDER);
+        synchronized (lock) {
+            // A change applied while loading may be missing from what was read; keep it and retry next time
+            if (changes == seen) {
+                keys = sorted;
+            }
+        }
+        log.debug("User search index holds {} keys", sorted.length);
+    }
+
+    /** Up to limit users with a name, name word or email starting with the query. */
+    public List<Entry> search(String query, int limit) {
+        String prefix = normalize(query);
+        Key[] keys = this.keys;
+        Map<UUID, Entry> found = new LinkedHashMap<>();
+        for (int i = firstAtOrAfter(keys, prefix); i < keys.length && found.size() < limit; i++) {
+            if (!keys[i].text().startsWith(prefix)) {
+                break;
+            }
+            found.putIfAbsent(keys[i].entry().id(), keys[i].entry());
+        }
+        return List.copyOf(found.values());
+    }
+
+    /** A new user or a changed one (e.g. its role). */
+    public void updated(User user) {
+        Entry entry = new Entry(user.getId(), user.getEmail(), user.getFullName(), user.getRole());
+        apply(entry.id(), keysOf(entry));
+    }
+
+    public void removed(UUID userId) {
+        apply(userId, List.of());
+    }
+
+    private void apply(UUID userId, List<Key> added) {
+        Key[] incoming = added.toArray(Key[]::new);
+        Arrays.sort(incoming, Key.ORDER);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (lock) {
+                keys = merge(keys, userId, incoming);
+                changes++;
+            }
+        });
+    }
+
+    // One pass over the current keys: drops the user's old ones and slots the new ones in
+    private static Key[] merge(Key[] current, UUID userId, Key[] incoming) {
+        Key[] next = new Key[current.length + incoming.length];
+        int size = 0;
+        int j = 0;
+        for (Key key : current) {
+            if (key.entry().id().equals(userId)) {
+                continue;
+            }
+            while (j < incoming.length && Key.ORDER.compare(incoming[j], key) < 0) {
+                next[size++] = incoming[j++];
+            }
+            next[size++] = key;
+        }
+        while (j < incoming.length) {
+            next[size++] = incoming[j++];
+        }
+        return size == next.length ? next : Arrays.copyOf(next, size);
+    }
+
+    private static int firstAtOrAfter(Key[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].text().compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static List<Key> keysOf(Entry entry) {
+        List<Key> keys = new ArrayList<>();
+        String name = normalize(entry.fullName());
+        keys.add(new Key(name, entry));
+        String[] words = name.split(" ");
+        // The first word is already covered by the full name
+        for (int i = 1; i < words.length; i++) {
+            keys.add(new Key(words[i], entry));
+        }
+        keys.add(new Key(normalize(entry.email()), entry));
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public record Entry(UUID id, String email, String fullName, User.UserRole role) {
+    }
+
+    private record Key(String text, Entry entry) {
+
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::text);
+    }
+}
@@ -0,0 +1,47 @@
+package com.meetingscheduler;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base for tests that need the real database (advisory locks, SKIP LOCKED, partitions). Runs
+ * against the database in TEST_DATABASE_URL (with TEST_DATABASE_USERNAME and
+ * TEST_DATABASE_PASSWORD) when set, otherwise against a PostgreSQL container shared by all
+ * tests; skipped when neither is available. Never the database in application.yml.
+ */
+public abstract class PostgresIntegrationTest {
+
+    private static final String URL = System.getenv("TEST_DATABASE_URL");
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(URL != null || DockerClientFactory.instance().isDockerAvailable(),
+            "Needs Docker or TEST_DATABASE_URL");
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DATABASE_USERNAME", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", ""));
+            return;
+        }
+        synchronized (PostgresIntegrationTest.class) {
+            if (postgres == null) {
+                postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+                postgres.start();
+            }
+        }
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+}
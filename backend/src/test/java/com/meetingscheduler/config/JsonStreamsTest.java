@@ -0,0 +1,98 @@
+package com.meetingscheduler.config;
+
+import com.meetingscheduler.PostgresIntegrationTest;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.service.MeetingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A streamed list keeps at most a page of entities managed, even under open-in-view, where
+ * every page's transaction joins the one EntityManager bound to the writing thread.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "scheduler.streaming.page-size=100"
+})
+class JsonStreamsTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MEETINGS = 2500;
+
+    @Autowired
+    private JsonStreams jsonStreams;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM meetings WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void managedEntitiesStayAtOnePageUnderOpenInView() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, full_name, role, created_at) " +
+            "VALUES (?, ?, 'not-a-hash', 'Stream Test', 'executive', now())", userId, "stream-" + userId + "@example.com");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < MEETINGS; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO meetings (id, user_id, title, priority, duration_minutes, deadline, status, created_at, version) " +
+            "VALUES (?, ?, 'Streamed', 5, 30, now() + interval '7 days', 'pending', now(), 0)", rows);
+
+        // What OpenEntityManagerInViewInterceptor does for the thread writing the body
+        EntityManager bound = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(bound));
+        AtomicInteger mostManaged = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            jsonStreams.array((Meeting after, int limit) -> {
+                mostManaged.accumulateAndGet(managed(bound), Math::max);
+                List<Meeting> page = meetingService.getMeetingsByUserAfter(userId, after, limit);
+                mostManaged.accumulateAndGet(managed(bound), Math::max);
+                return page;
+            }).writeTo(out);
+
+            assertThat(managed(bound)).isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            bound.close();
+        }
+
+        // A page of meetings, plus their user once serializing loads it
+        assertThat(mostManaged.get()).isPositive().isLessThanOrEqualTo(PAGE_SIZE + 1);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body.split("\"title\":\"Streamed\"", -1)).hasSize(MEETINGS + 1);
+    }
+
+    private static int managed(EntityManager entityManager) {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
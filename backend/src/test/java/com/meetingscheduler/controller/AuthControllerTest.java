@@ -0,0 +1,71 @@
+package com.meetingscheduler.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetingscheduler.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Signing up never hands out admin access once authentication is required. */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "scheduler.security.require-auth=true",
+    "spring.security.jwt.secret=test-secret-that-is-at-least-32-bytes-long"
+})
+@AutoConfigureMockMvc
+class AuthControllerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String email = "signup-" + UUID.randomUUID() + "@example.com";
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    @Test
+    void selfRegisteringAsAdminIsForbidden() throws Exception {
+        mvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(signUp("ADMIN")))
+            .andExpect(status().isForbidden());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email = ?", Integer.class, email)).isZero();
+    }
+
+    @Test
+    void selfRegisteredUserGetsForbiddenFromAdminEndpoints() throws Exception {
+        String body = mvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(signUp("EXECUTIVE")))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        mvc.perform(get("/api/admin/users")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+    }
+
+    private String signUp(String role) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+            "email", email, "password", "correct-horse", "fullName", "Sign Up", "role", role));
+    }
+}
@@ -0,0 +1,123 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.PostgresIntegrationTest;
+import com.meetingscheduler.dto.ImportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A CSV import reports a row it can't parse and goes on, but stops, saying where, when a
+ * broken quoted field leaves the parser unable to find the rows after it. Availability from
+ * a calendar file is only the time its events leave free.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class BulkImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void createUser() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, full_name, role, created_at) " +
+            "VALUES (?, ?, 'not-a-hash', 'Import Test', 'executive', now())", userId, "import-" + userId + "@example.com");
+    }
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM availability WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM change_log WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM resource_versions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void badQuoteInOneRowFailsOnlyThatRow() throws Exception {
+        ImportResult result = importCsv(
+            "startTime,endTime",
+            "2099-05-01T09:00,2099-05-01T10:00",
+            "\"2099-05-02T09:00\"x,2099-05-02T10:00",
+            "2099-05-03T09:00,2099-05-03T10:00");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportResult.RowError::getLine).containsExactly(3L);
+        assertThat(result.getStoppedAtLine()).isNull();
+        assertThat(slots()).isEqualTo(2);
+    }
+
+    @Test
+    void unclosedQuoteStopsTheImportAtItsRow() throws Exception {
+        ImportResult result = importCsv(
+            "startTime,endTime",
+            "2099-05-01T09:00,2099-05-01T10:00",
+            "2099-05-02T09:00,2099-05-02T10:00",
+            "\"2099-05-03T09:00,2099-05-03T10:00",
+            "2099-05-04T09:00,2099-05-04T10:00",
+            "2099-05-05T09:00,2099-05-05T10:00");
+
+        // The rows before it are in; the ones the open quote swallowed are left to resend
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getStoppedAtLine()).isEqualTo(4L);
+        assertThat(result.getStopReason()).startsWith("Unreadable input:").contains("quote");
+        assertThat(slots()).isEqualTo(2);
+    }
+
+    @Test
+    void calendarAvailabilitySkipsBusyAndCancelledEvents() throws Exception {
+        ImportResult result = importFile(ImportFormat.ICALENDAR,
+            "BEGIN:VCALENDAR",
+            "BEGIN:VEVENT",
+            "SUMMARY:Board meeting",
+            "DTSTART:20990501T090000",
+            "DTEND:20990501T100000",
+            "END:VEVENT",
+            "BEGIN:VEVENT",
+            "SUMMARY:Open office hours",
+            "DTSTART:20990502T090000",
+            "DTEND:20990502T100000",
+            "TRANSP:TRANSPARENT",
+            "END:VEVENT",
+            "BEGIN:VEVENT",
+            "SUMMARY:Called off",
+            "DTSTART:20990503T090000",
+            "DTEND:20990503T100000",
+            "TRANSP:TRANSPARENT",
+            "STATUS:CANCELLED",
+            "END:VEVENT",
+            "END:VCALENDAR");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        // No TRANSP means OPAQUE: the board meeting is busy time
+        assertThat(result.getErrors()).extracting(ImportResult.RowError::getLine).containsExactly(2L, 13L);
+        assertThat(jdbcTemplate.queryForList("SELECT start_time::text FROM availability WHERE user_id = ?", String.class, userId))
+            .containsExactly("2099-05-02 09:00:00");
+    }
+
+    private ImportResult importCsv(String... lines) throws Exception {
+        return importFile(ImportFormat.CSV, lines);
+    }
+
+    private ImportResult importFile(ImportFormat format, String... lines) throws Exception {
+        byte[] body = (String.join("\n", List.of(lines)) + "\n").getBytes(StandardCharsets.UTF_8);
+        return bulkImportService.importAvailability(userId, format, new ByteArrayInputStream(body));
+    }
+
+    private int slots() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM availability WHERE user_id = ?", Integer.class, userId);
+    }
+}
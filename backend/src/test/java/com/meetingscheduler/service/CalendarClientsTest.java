@@ -0,0 +1,208 @@
+package com.meetingscheduler.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetingscheduler.entity.CalendarIntegration;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static com.meetingscheduler.service.CalendarFixtures.base;
+import static com.meetingscheduler.service.CalendarFixtures.recorded;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** The provider clients against recorded Google, Outlook and CalDAV responses. */
+class CalendarClientsTest {
+
+    private MockWebServer server;
+    private CalendarHttp http;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        http = new CalendarHttp(new ObjectMapper(), 2000, 5000);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void googlePagesUntilItHandsOutASyncToken() throws Exception {
+        GoogleCalendarClient google = new GoogleCalendarClient(http, base(server));
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.GOOGLE_CALENDAR, "ya29.token", null);
+        server.enqueue(recorded(server, "google/full-page-1.json"));
+        server.enqueue(recorded(server, "google/full-page-2.json"));
+
+        CalendarClient.ChangePage first = google.changes(integration, null, null);
+        CalendarClient.ChangePage last = google.changes(integration, null, first.nextPageToken());
+
+        assertThat(first.nextSyncToken()).isNull();
+        assertThat(first.changes()).extracting(CalendarClient.Change::externalId, CalendarClient.Change::busy)
+            .containsExactly(tuple("dqclbfsfvik2e4hbjftobe02r8", true),
+                tuple("5u0l7a3ccd8hd6q1rj5nq7vbnm", false));
+        assertThat(first.changes().get(0).start()).isEqualTo(serverTime(LocalDateTime.of(2099, 3, 2, 10, 0)));
+        assertThat(last.nextPageToken()).isNull();
+        assertThat(last.nextSyncToken()).isEqualTo("CPDAlvWDx70CEPDAlvWDx70CGAU=");
+        // All-day events block the whole day
+        assertThat(last.changes().get(0).start()).isEqualTo(LocalDateTime.of(2099, 3, 4, 0, 0));
+
+        RecordedRequest firstRequest = server.takeRequest();
+        assertThat(firstRequest.getPath()).startsWith("/calendars/primary/events?singleEvents=true").doesNotContain("syncToken");
+        assertThat(firstRequest.getHeader("Authorization")).isEqualTo("Bearer ya29.token");
+        assertThat(server.takeRequest().getRequestUrl().queryParameter("pageToken")).isEqualTo(first.nextPageToken());
+    }
+
+    @Test
+    void googleDeltaCancelsEvents() throws Exception {
+        GoogleCalendarClient google = new GoogleCalendarClient(http, base(server));
+        server.enqueue(recorded(server, "google/delta.json"));
+
+        CalendarClient.ChangePage delta = google.changes(
+            integration(CalendarIntegration.CalendarType.GOOGLE_CALENDAR, "ya29.token", null), "CPDAlvWDx70CEPDAlvWDx70CGAU=", null);
+
+        assertThat(delta.changes()).singleElement().satisfies(change -> {
+            assertThat(change.externalId()).isEqualTo("dqclbfsfvik2e4hbjftobe02r8");
+            assertThat(change.busy()).isFalse();
+        });
+        assertThat(server.takeRequest().getRequestUrl().queryParameter("syncToken")).isEqualTo("CPDAlvWDx70CEPDAlvWDx70CGAU=");
+    }
+
+    @Test
+    void goneMeansTheSyncTokenExpired() {
+        GoogleCalendarClient google = new GoogleCalendarClient(http, base(server));
+        server.enqueue(recorded(server, "google/sync-token-gone.json", 410));
+
+        assertThatThrownBy(() -> google.changes(
+                integration(CalendarIntegration.CalendarType.GOOGLE_CALENDAR, "ya29.token", null), "stale", null))
+            .isInstanceOfSatisfying(CalendarSyncException.class,
+                e -> assertThat(e.reason()).isEqualTo(CalendarSyncException.Reason.TOKEN_EXPIRED));
+    }
+
+    @Test
+    void throttlingCarriesRetryAfterSeconds() {
+        GoogleCalendarClient google = new GoogleCalendarClient(http, base(server));
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.GOOGLE_CALENDAR, "ya29.token", null);
+        server.enqueue(recorded(server, "google/rate-limited.json", 429).setHeader("Retry-After", "120"));
+        server.enqueue(recorded(server, "google/rate-limited.json", 503).setHeader("Retry-After", "Wed, 21 Oct 2099 07:28:00 GMT"));
+
+        assertThatThrownBy(() -> google.changes(integration, null, null))
+            .isInstanceOfSatisfying(CalendarSyncException.class, e -> {
+                assertThat(e.reason()).isEqualTo(CalendarSyncException.Reason.RATE_LIMITED);
+                assertThat(e.retryAfter()).isEqualTo(Duration.ofSeconds(120));
+            });
+        // The HTTP-date form is left to the normal backoff
+        assertThatThrownBy(() -> google.changes(integration, null, null))
+            .isInstanceOfSatisfying(CalendarSyncException.class, e -> {
+                assertThat(e.reason()).isEqualTo(CalendarSyncException.Reason.RATE_LIMITED);
+                assertThat(e.retryAfter()).isNull();
+            });
+    }
+
+    @Test
+    void outlookFollowsNextLinksToTheDeltaLink() throws Exception {
+        OutlookCalendarClient outlook = new OutlookCalendarClient(http, base(server), 90);
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.OUTLOOK_CALENDAR, "eyJ0eXAi", null);
+        server.enqueue(recorded(server, "outlook/delta-page-1.json"));
+        server.enqueue(recorded(server, "outlook/delta-page-2.json"));
+
+        CalendarClient.ChangePage first = outlook.changes(integration, null, null);
+        CalendarClient.ChangePage last = outlook.changes(integration, null, first.nextPageToken());
+
+        assertThat(first.nextPageToken()).isEqualTo(base(server) + "/me/calendarView/delta?$skiptoken=R0usmcCM996atia_s");
+        assertThat(first.changes()).extracting(CalendarClient.Change::busy).containsExactly(true, false);
+        assertThat(first.changes().get(0).end()).isEqualTo(serverTime(LocalDateTime.of(2099, 3, 3, 10, 30)));
+        assertThat(last.nextSyncToken()).isEqualTo(base(server) + "/me/calendarView/delta?$deltatoken=R0usmci39OQxqJrxK4");
+        assertThat(last.changes()).singleElement().satisfies(change -> assertThat(change.busy()).isFalse());
+
+        RecordedRequest firstRequest = server.takeRequest();
+        assertThat(firstRequest.getPath()).startsWith("/me/calendarView/delta?startDateTime=");
+        assertThat(firstRequest.getHeader("Prefer")).contains("outlook.timezone=\"UTC\"");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/me/calendarView/delta?$skiptoken=R0usmcCM996atia_s");
+    }
+
+    @Test
+    void outlookNeverSendsCredentialsToAnotherHost() throws Exception {
+        OutlookCalendarClient outlook = new OutlookCalendarClient(http, base(server), 90);
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.OUTLOOK_CALENDAR, "eyJ0eXAi", null);
+        server.enqueue(recorded(server, "outlook/delta-foreign-link.json"));
+
+        CalendarClient.ChangePage page = outlook.changes(integration, null, null);
+
+        assertThatThrownBy(() -> outlook.changes(integration, null, page.nextPageToken()))
+            .isInstanceOf(CalendarSyncException.class)
+            .hasMessageContaining("another host");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void calDavTruncatedReportContinuesUnderTheNewToken() throws Exception {
+        CalDavCalendarClient calDav = new CalDavCalendarClient(http, base(server));
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.APPLE_CALENDAR,
+            "alex@example.com:abcd-efgh-ijkl-mnop", "/1234567/calendars/work/");
+        server.enqueue(recorded(server, "caldav/sync-truncated.xml", 207));
+        server.enqueue(recorded(server, "caldav/sync-final.xml", 207));
+
+        CalendarClient.ChangePage first = calDav.changes(integration, null, null);
+        CalendarClient.ChangePage last = calDav.changes(integration, null, first.nextPageToken());
+
+        assertThat(first.nextPageToken()).isEqualTo("https://caldav.example.com/sync/1234567-work/41");
+        assertThat(first.nextSyncToken()).isNull();
+        assertThat(first.changes()).singleElement().satisfies(change -> {
+            assertThat(change.externalId()).isEqualTo("/1234567/calendars/work/8D5F0B6C-3B6A-4D1E-9A57-2E1C4F0F7C11.ics");
+            assertThat(change.busy()).isTrue();
+            assertThat(change.start()).isEqualTo(LocalDateTime.of(2099, 3, 5, 14, 0));
+        });
+        assertThat(last.nextSyncToken()).isEqualTo("https://caldav.example.com/sync/1234567-work/42");
+        // A removed member and a transparent event both free their time
+        assertThat(last.changes()).extracting(CalendarClient.Change::busy).containsExactly(false, false);
+
+        RecordedRequest firstRequest = server.takeRequest();
+        assertThat(firstRequest.getMethod()).isEqualTo("REPORT");
+        assertThat(firstRequest.getPath()).isEqualTo("/1234567/calendars/work/");
+        assertThat(firstRequest.getBody().readUtf8()).contains("<d:sync-token></d:sync-token>");
+        assertThat(server.takeRequest().getBody().readUtf8())
+            .contains("<d:sync-token>https://caldav.example.com/sync/1234567-work/41</d:sync-token>");
+    }
+
+    @Test
+    void calDavInvalidSyncTokenMeansTheTokenExpired() {
+        CalDavCalendarClient calDav = new CalDavCalendarClient(http, base(server));
+        server.enqueue(recorded(server, "caldav/invalid-sync-token.xml", 403));
+        server.enqueue(new MockResponse().setResponseCode(403));
+        CalendarIntegration integration = integration(CalendarIntegration.CalendarType.APPLE_CALENDAR,
+            "alex@example.com:abcd-efgh-ijkl-mnop", "/1234567/calendars/work/");
+
+        assertThatThrownBy(() -> calDav.changes(integration, "https://caldav.example.com/sync/1234567-work/7", null))
+            .isInstanceOfSatisfying(CalendarSyncException.class,
+                e -> assertThat(e.reason()).isEqualTo(CalendarSyncException.Reason.TOKEN_EXPIRED));
+        // Any other refusal is about the credentials
+        assertThatThrownBy(() -> calDav.changes(integration, null, null))
+            .isInstanceOfSatisfying(CalendarSyncException.class,
+                e -> assertThat(e.reason()).isEqualTo(CalendarSyncException.Reason.UNAUTHORIZED));
+    }
+
+    private static CalendarIntegration integration(CalendarIntegration.CalendarType type, String authToken, String calendarId) {
+        CalendarIntegration integration = new CalendarIntegration();
+        integration.setCalendarType(type);
+        integration.setAuthToken(authToken);
+        integration.setCalendarId(calendarId);
+        return integration;
+    }
+
+    private static LocalDateTime serverTime(LocalDateTime utc) {
+        return utc.atZone(ZoneOffset.UTC).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
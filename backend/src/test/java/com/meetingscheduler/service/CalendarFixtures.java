@@ -0,0 +1,49 @@
+package com.meetingscheduler.service;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded provider responses under src/test/resources/calendar, served by a MockWebServer
+ * standing in for the provider. {{base}} in a fixture becomes the server's URL, so next and
+ * delta links point back at it. Events are dated 2099, so they never fall in the past.
+ */
+final class CalendarFixtures {
+
+    private CalendarFixtures() {
+    }
+
+    static MockResponse recorded(MockWebServer server, String fixture) {
+        return recorded(server, fixture, 200);
+    }
+
+    static MockResponse recorded(MockWebServer server, String fixture, int status) {
+        String contentType = fixture.endsWith(".xml") ? "application/xml; charset=utf-8" : "application/json; charset=UTF-8";
+        return new MockResponse()
+            .setResponseCode(status)
+            .setHeader("Content-Type", contentType)
+            .setBody(read(fixture).replace("{{base}}", base(server)));
+    }
+
+    /** The server's URL without the trailing slash, as the base-url settings expect it. */
+    static String base(MockWebServer server) {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    private static String read(String fixture) {
+        try (InputStream in = CalendarFixtures.class.getResourceAsStream("/calendar/" + fixture)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture calendar/" + fixture);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
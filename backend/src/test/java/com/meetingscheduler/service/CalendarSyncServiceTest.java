@@ -0,0 +1,240 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.PostgresIntegrationTest;
+import com.meetingscheduler.entity.CalendarIntegration;
+import com.meetingscheduler.repository.CalendarIntegrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.meetingscheduler.service.CalendarFixtures.base;
+import static com.meetingscheduler.service.CalendarFixtures.recorded;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The sync engine against a stand-in Google Calendar serving recorded responses: incremental
+ * pulls, a full pull across pages when the sync token has expired, backing off for as long
+ * as a throttling provider asks, and leaving an integration alone once its lease is lost.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    // Syncs run only when a test dispatches them
+    "scheduler.calendar-sync.poll-interval-ms=3600000",
+    "scheduler.calendar-sync.backoff-base-ms=30000"
+})
+class CalendarSyncServiceTest extends PostgresIntegrationTest {
+
+    private static final String SYNC_TOKEN = "CPDAlvWDx70CEPDAlvWDx70CGAU=";
+
+    private static final MockWebServer server = new MockWebServer();
+
+    static {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void standInCalendar(DynamicPropertyRegistry registry) {
+        registry.add("scheduler.calendar-sync.google.base-url", () -> base(server));
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Autowired
+    private CalendarSyncService calendarSync;
+
+    @Autowired
+    private CalendarIntegrationRepository integrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void removeIntegrations() {
+        for (UUID integrationId : created) {
+            jdbcTemplate.update("DELETE FROM external_busy_slots WHERE integration_id = ?", integrationId);
+            jdbcTemplate.update("DELETE FROM calendar_integrations WHERE id = ?", integrationId);
+        }
+    }
+
+    @Test
+    void expiredSyncTokenFallsBackToAFullPullAcrossPages() throws Exception {
+        CalendarIntegration integration = googleIntegration("stale-token");
+        // Pulled before the token expired, and no longer on the calendar
+        jdbcTemplate.update("INSERT INTO external_busy_slots (id, integration_id, user_id, external_id, start_time, end_time, synced_at) " +
+            "VALUES (?, ?, ?, 'deleted-meanwhile', '2099-03-01 09:00', '2099-03-01 10:00', now() - interval '1 day')",
+            UUID.randomUUID(), integration.getId(), integration.getUserId());
+        serve(request -> {
+            if ("stale-token".equals(request.getRequestUrl().queryParameter("syncToken"))) {
+                return recorded(server, "google/sync-token-gone.json", 410);
+            }
+            if (request.getRequestUrl().queryParameter("syncToken") == null) {
+                return request.getRequestUrl().queryParameter("pageToken") == null
+                    ? recorded(server, "google/full-page-1.json")
+                    : recorded(server, "google/full-page-2.json");
+            }
+            return null;
+        });
+
+        Map<String, Object> row = syncOnce(integration);
+
+        assertThat(row.get("failure_count")).isEqualTo(0);
+        assertThat(row.get("sync_token")).isEqualTo(SYNC_TOKEN);
+        // The free event is skipped and the one the full pull didn't list is swept
+        assertThat(busyEvents(integration)).containsExactlyInAnyOrder("dqclbfsfvik2e4hbjftobe02r8", "0fk2v3b8c1q9o6n2hl7gq3m1ua");
+    }
+
+    @Test
+    void deltaPullAppliesOnlyTheChanges() throws Exception {
+        CalendarIntegration integration = googleIntegration(SYNC_TOKEN);
+        jdbcTemplate.update("INSERT INTO external_busy_slots (id, integration_id, user_id, external_id, start_time, end_time, synced_at) " +
+            "VALUES (?, ?, ?, ?, '2099-03-02 10:00', '2099-03-02 11:00', now()), (?, ?, ?, ?, '2099-03-04 00:00', '2099-03-05 00:00', now())",
+            UUID.randomUUID(), integration.getId(), integration.getUserId(), "dqclbfsfvik2e4hbjftobe02r8",
+            UUID.randomUUID(), integration.getId(), integration.getUserId(), "0fk2v3b8c1q9o6n2hl7gq3m1ua");
+        serve(request -> SYNC_TOKEN.equals(request.getRequestUrl().queryParameter("syncToken"))
+            ? recorded(server, "google/delta.json")
+            : null);
+
+        Map<String, Object> row = syncOnce(integration);
+
+        assertThat(row.get("failure_count")).isEqualTo(0);
+        assertThat(row.get("sync_token")).isEqualTo("CKCu0q6Fx70CEKCu0q6Fx70CGAU=");
+        assertThat(busyEvents(integration)).containsExactly("0fk2v3b8c1q9o6n2hl7gq3m1ua");
+    }
+
+    @Test
+    void throttledSyncWaitsAtLeastRetryAfter() throws Exception {
+        CalendarIntegration integration = googleIntegration(SYNC_TOKEN);
+        serve(request -> recorded(server, "google/rate-limited.json", 429).setHeader("Retry-After", "7200"));
+
+        LocalDateTime before = LocalDateTime.now();
+        Map<String, Object> row = syncOnce(integration);
+
+        assertThat(row.get("failure_count")).isEqualTo(1);
+        assertThat((String) row.get("last_error")).contains("throttling");
+        // Far past the 30 s base backoff: the provider's two hours win
+        assertThat(((Timestamp) row.get("next_sync_at")).toLocalDateTime()).isAfterOrEqualTo(before.plusSeconds(7200));
+        assertThat(row.get("sync_token")).isEqualTo(SYNC_TOKEN);
+    }
+
+    @Test
+    void failedSyncBacksOffExponentially() throws Exception {
+        CalendarIntegration integration = googleIntegration(SYNC_TOKEN);
+        jdbcTemplate.update("UPDATE calendar_integrations SET failure_count = 3 WHERE id = ?", integration.getId());
+        serve(request -> new MockResponse().setResponseCode(500));
+
+        LocalDateTime before = LocalDateTime.now();
+        Map<String, Object> row = syncOnce(integration);
+
+        // Fourth failure in a row: 30 s doubled three times, give or take the 20% jitter
+        LocalDateTime next = ((Timestamp) row.get("next_sync_at")).toLocalDateTime();
+        assertThat(row.get("failure_count")).isEqualTo(4);
+        assertThat(next).isAfterOrEqualTo(before.plusSeconds(192)).isBefore(LocalDateTime.now().plusSeconds(288));
+    }
+
+    @Test
+    void syncThatLostItsLeaseLeavesTheOutcomeToTheNewHolder() throws Exception {
+        CalendarIntegration integration = googleIntegration(SYNC_TOKEN);
+        Timestamp otherNodesLease = Timestamp.valueOf(LocalDateTime.of(2999, 1, 1, 0, 0));
+        Counter lost = meterRegistry.counter("calendar.sync.runs", "outcome", "lease_lost");
+        double lostBefore = lost.count();
+        serve(request -> {
+            // Stalled past its lease while the provider answered; another node claimed it meanwhile
+            jdbcTemplate.update("UPDATE calendar_integrations SET lease_until = ? WHERE id = ?", otherNodesLease, integration.getId());
+            return recorded(server, "google/delta.json");
+        });
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (lost.count() == lostBefore && System.nanoTime() < deadline) {
+            calendarSync.dispatch();
+            Thread.sleep(100);
+        }
+
+        assertThat(lost.count()).isEqualTo(lostBefore + 1);
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM calendar_integrations WHERE id = ?", integration.getId());
+        assertThat(row.get("lease_until")).isEqualTo(otherNodesLease);
+        assertThat(row.get("last_synced_at")).isNull();
+        assertThat(row.get("failure_count")).isEqualTo(0);
+    }
+
+    private CalendarIntegration googleIntegration(String syncToken) {
+        CalendarIntegration integration = new CalendarIntegration();
+        integration.setUserId(UUID.randomUUID());
+        integration.setCalendarType(CalendarIntegration.CalendarType.GOOGLE_CALENDAR);
+        integration.setAuthToken("ya29.test-token");
+        integration.setSyncToken(syncToken);
+        // Due before anything another test left behind
+        integration.setNextSyncAt(LocalDateTime.of(2000, 1, 1, 0, 0));
+        integration = integrationRepository.save(integration);
+        created.add(integration.getId());
+        return integration;
+    }
+
+    /** Only this integration's calendar answers; anything else the engine asks for is a 404. */
+    private static void serve(Function<RecordedRequest, MockResponse> calendar) {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = request.getPath().startsWith("/calendars/primary/events") && "GET".equals(request.getMethod())
+                    ? calendar.apply(request)
+                    : null;
+                return response != null ? response : new MockResponse().setResponseCode(404);
+            }
+        });
+    }
+
+    /** Dispatches until the integration's sync has run (its lease released), then returns its row. */
+    private Map<String, Object> syncOnce(CalendarIntegration integration) throws InterruptedException {
+        String row = "SELECT * FROM calendar_integrations WHERE id = ?";
+        Object failuresBefore = jdbcTemplate.queryForMap(row, integration.getId()).get("failure_count");
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (System.nanoTime() < deadline) {
+            calendarSync.dispatch();
+            Map<String, Object> current = jdbcTemplate.queryForMap(row, integration.getId());
+            boolean ran = current.get("last_synced_at") != null || !failuresBefore.equals(current.get("failure_count"));
+            if (ran && current.get("lease_until") == null) {
+                return current;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Integration " + integration.getId() + " was not synced");
+    }
+
+    private List<String> busyEvents(CalendarIntegration integration) {
+        return jdbcTemplate.queryForList("SELECT external_id FROM external_busy_slots WHERE integration_id = ?",
+            String.class, integration.getId());
+    }
+}
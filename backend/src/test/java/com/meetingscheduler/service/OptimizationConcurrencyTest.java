@@ -0,0 +1,183 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.PostgresIntegrationTest;
+import com.meetingscheduler.config.OptimizationBulkhead;
+import com.meetingscheduler.entity.Availability;
+import com.meetingscheduler.entity.Meeting;
+import com.meetingscheduler.entity.User;
+import com.meetingscheduler.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 100 optimize calls at once must leave exactly one schedule per meeting: the per-user lock,
+ * the version checks and the single-flight front door may turn calls away, never double-book.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "scheduler.optimization.bulkhead.queue-depth=100"
+})
+class OptimizationConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CALLS = 100;
+    private static final int MEETINGS = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private OptimizationRequestService optimizationRequests;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void startCallers() {
+        callers = Executors.newFixedThreadPool(CALLS);
+    }
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void parallelRequestsForOneUserScheduleEachMeetingOnce() throws Exception {
+        User user = executiveWithPendingMeetings();
+
+        Map<String, AtomicInteger> outcomes = race(() -> optimizationRequests.optimize(user.getId(), null)
+            .get(60, TimeUnit.SECONDS));
+
+        assertThat(outcomes).containsKey("ok");
+        assertOneSchedulePerMeeting(user);
+    }
+
+    @Test
+    void parallelRunsBypassingTheFrontDoorScheduleEachMeetingOnce() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            users.add(executiveWithPendingMeetings());
+        }
+        AtomicInteger next = new AtomicInteger();
+
+        // No bulkhead and no coalescing: only the locks and version checks stand between the runs
+        Map<String, AtomicInteger> outcomes = race(() ->
+            scheduleService.optimizeSchedule(users.get(next.getAndIncrement() % users.size()).getId()));
+
+        assertThat(outcomes).containsKey("ok");
+        for (User user : users) {
+            assertOneSchedulePerMeeting(user);
+        }
+    }
+
+    /** Starts all calls together and counts how they ended; anything unexpected fails the test. */
+    private Map<String, AtomicInteger> race(Callable<?> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            calls.add(callers.submit(() -> {
+                start.await();
+                try {
+                    call.call();
+                    return "ok";
+                } catch (OptimizationBulkhead.Rejected e) {
+                    return "rejected";
+                } catch (ExecutionException e) {
+                    return outcome(e.getCause());
+                } catch (RuntimeException e) {
+                    return outcome(e);
+                }
+            }));
+        }
+        start.countDown();
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        for (Future<String> result : calls) {
+            outcomes.computeIfAbsent(result.get(120, TimeUnit.SECONDS), k -> new AtomicInteger()).incrementAndGet();
+        }
+        return outcomes;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof OptimizationBulkhead.Rejected) {
+            return "rejected";
+        }
+        if (error instanceof IllegalArgumentException && error.getMessage().startsWith("No pending meetings")) {
+            // A later run found everything already scheduled
+            return "nothing-pending";
+        }
+        if (error instanceof IllegalStateException) {
+            return "conflict";
+        }
+        throw new AssertionError("Unexpected optimize failure", error);
+    }
+
+    private void assertOneSchedulePerMeeting(User user) {
+        List<Map<String, Object>> perMeeting = jdbcTemplate.queryForList(
+            "SELECT m.id, count(s.id) AS schedules FROM meetings m LEFT JOIN schedules s ON s.meeting_id = m.id " +
+            "WHERE m.user_id = ? GROUP BY m.id", user.getId());
+        assertThat(perMeeting).hasSize(MEETINGS);
+        assertThat(perMeeting).allSatisfy(row ->
+            assertThat(((Number) row.get("schedules")).longValue()).as("schedules of meeting %s", row.get("id")).isEqualTo(1));
+        Integer scheduledRows = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM schedules WHERE user_id = ?", Integer.class, user.getId());
+        assertThat(scheduledRows).isEqualTo(MEETINGS);
+    }
+
+    private User executiveWithPendingMeetings() {
+        User user = new User();
+        user.setEmail("race-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setFullName("Race Test");
+        user.setRole(User.UserRole.executive);
+        user = userRepository.save(user);
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        Availability availability = new Availability();
+        availability.setStartTime(day.atTime(8, 0));
+        availability.setEndTime(day.atTime(18, 0));
+        availabilityService.createAvailability(availability, user);
+
+        for (int i = 0; i < MEETINGS; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setTitle("Race meeting " + i);
+            meeting.setPriority(1 + i % 10);
+            meeting.setDurationMinutes(30);
+            meeting.setDeadline(LocalDateTime.now().plusDays(5));
+            meetingService.createMeeting(meeting, user);
+        }
+        return user;
+    }
+}
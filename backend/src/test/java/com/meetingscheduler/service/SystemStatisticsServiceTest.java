@@ -0,0 +1,91 @@
+package com.meetingscheduler.service;
+
+import com.meetingscheduler.entity.User;
+import com.meetingscheduler.repository.MeetingRepository;
+import com.meetingscheduler.repository.ScheduleRepository;
+import com.meetingscheduler.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** The reconcile corrects drift but never drops a change reported while it was counting. */
+class SystemStatisticsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MeetingRepository meetingRepository = mock(MeetingRepository.class);
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+
+    private SystemStatisticsService statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new SystemStatisticsService(userRepository, meetingRepository, scheduleRepository);
+        when(meetingRepository.countByStatus()).thenReturn(List.of());
+        when(scheduleRepository.sumOptimizationScores()).thenReturn(scores(0, 0));
+    }
+
+    @Test
+    void signUpDuringTheCountIsKept() {
+        when(userRepository.countByRole()).thenReturn(List.of(executives(5)));
+        statistics.reconcile();
+
+        // Reported while the aggregate ran, and not in its result
+        when(userRepository.countByRole()).thenAnswer(invocation -> {
+            statistics.userCreated(User.UserRole.executive);
+            return List.of(executives(5));
+        });
+        statistics.reconcile();
+        assertThat(statistics.snapshot().get("activeExecutives")).isEqualTo(6L);
+
+        // Left alone, a drifted counter is corrected
+        when(userRepository.countByRole()).thenReturn(List.of(executives(9)));
+        statistics.reconcile();
+        assertThat(statistics.snapshot().get("activeExecutives")).isEqualTo(9L);
+    }
+
+    @Test
+    void scoreSavedDuringTheSumIsKept() {
+        when(userRepository.countByRole()).thenReturn(List.of());
+        when(scheduleRepository.sumOptimizationScores()).thenAnswer(invocation -> {
+            statistics.scheduleSaved(80.0);
+            return scores(0, 0);
+        });
+
+        statistics.reconcile();
+
+        assertThat(statistics.snapshot().get("averageOptimizationScore")).isEqualTo(80.0);
+    }
+
+    private static UserRepository.RoleCount executives(long total) {
+        return new UserRepository.RoleCount() {
+            @Override
+            public User.UserRole getRole() {
+                return User.UserRole.executive;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static ScheduleRepository.ScoreTotals scores(long total, double scoreSum) {
+        return new ScheduleRepository.ScoreTotals() {
+            @Override
+            public long getTotal() {
+                return total;
+            }
+
+            @Override
+            public double getScoreSum() {
+                return scoreSum;
+            }
+        };
+    }
+}
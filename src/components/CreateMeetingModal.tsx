@@ -31,19 +31,22 @@ export default function CreateMeetingModal({ onClose, onSuccess }: CreateMeeting
   const [showUserDropdown, setShowUserDropdown] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
 
-  // Load available users on component mount
+  // Ask the server for matches as the user types, shortly after they pause
   useEffect(() => {
-    loadAvailableUsers();
-  }, []);
-
-  const loadAvailableUsers = async () => {
-    try {
-      const users = await api.getAllUsers();
-      setAvailableUsers(users);
-    } catch (error) {
-      console.error('Error loading users:', error);
-    }
-  };
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const users = await api.searchUsers(searchTerm);
+        if (!cancelled) setAvailableUsers(users);
+      } catch (error) {
+        console.error('Error searching users:', error);
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
 
   const handleSubmit = async (e: React.FormEvent) => {
     e.preventDefault();
@@ -96,11 +99,6 @@ export default function CreateMeetingModal({ onClose, onSuccess }: CreateMeeting
     setSelectedParticipants(selectedParticipants.filter(p => p.id !== userId));
   };
 
-  const filteredUsers = availableUsers.filter(user => 
-    user.fullName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-    user.email.toLowerCase().includes(searchTerm.toLowerCase())
-  );
-
   // Close dropdown when clicking outside
   useEffect(() => {
     const handleClickOutside = (event: MouseEvent) => {
@@ -258,10 +256,10 @@ export default function CreateMeetingModal({ onClose, onSuccess }: CreateMeeting
               {/* User Dropdown */}
               {showUserDropdown && (
                 <div className="absolute z-10 w-full mt-1 bg-white border border-slate-300 rounded-lg shadow-lg max-h-48 overflow-y-auto">
-                  {filteredUsers
+                  {availableUsers
                     .filter(user => !selectedParticipants.find(p => p.id === user.id))
                     .length > 0 ? (
-                    filteredUsers
+                    availableUsers
                       .filter(user => !selectedParticipants.find(p => p.id === user.id))
                       .map(user => (
                       <button
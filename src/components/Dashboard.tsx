@@ -54,11 +54,11 @@ export default function Dashboard() {
 
     try {
       // ✅ NOW USING BACKEND API
-      const [meetingsData, schedulesData, notificationsData] = await Promise.all([
-        api.getMeetings(user.id),
-        api.getSchedules(user.id),
-        api.getNotifications(user.id)
-      ]);
+      // One round trip for everything the dashboard shows
+      const dashboard = await api.getDashboard(user.id);
+      const meetingsData = dashboard.meetings;
+      const schedulesData = dashboard.schedules;
+      const notificationsData = dashboard.notifications;
 
       setMeetings(meetingsData || []);
       setSchedules(schedulesData || []);
@@ -111,12 +111,10 @@ export default function RegisterPage({ onSwitchToLogin }: RegisterPageProps) {
             >
               <option value="executive">Executive - Create and manage meetings</option>
               <option value="secretary">Secretary - Manage executive schedules</option>
-              <option value="admin">Admin - System administration</option>
             </select>
             <p className="text-xs text-slate-500 mt-1">
               {role === 'executive' && '📊 You can create meetings, optimize your schedule, and track progress'}
               {role === 'secretary' && '👔 You can manage schedules for multiple executives'}
-              {role === 'admin' && '🔐 You have full system access and can manage users'}
             </p>
           </div>
 
@@ -29,9 +29,17 @@ interface Schedule {
   optimization_score: number;
 }
 
+interface ExecutiveOverview {
+  executive: User;
+  permissions: string;
+  meetings: Meeting[];
+  schedules: Schedule[];
+}
+
 export default function SecretaryDashboard() {
   const { user } = useAuth();
   const [executives, setExecutives] = useState<User[]>([]);
+  const [overview, setOverview] = useState<Record<string, ExecutiveOverview>>({});
   const [selectedExecutive, setSelectedExecutive] = useState<string>('');
   const [executiveMeetings, setExecutiveMeetings] = useState<Meeting[]>([]);
   const [executiveSchedules, setExecutiveSchedules] = useState<Schedule[]>([]);
@@ -40,19 +48,32 @@ export default function SecretaryDashboard() {
 
   useEffect(() => {
     loadExecutives();
-  }, []);
+  }, [user]);
 
   useEffect(() => {
     if (selectedExecutive) {
-      loadExecutiveMeetings();
+      showExecutive(overview[selectedExecutive]);
     }
   }, [selectedExecutive]);
 
+  function showExecutive(entry?: ExecutiveOverview) {
+    setExecutiveMeetings(entry?.meetings || []);
+    setExecutiveSchedules(entry?.schedules || []);
+  }
+
+  // Assigned executives with their meetings and schedules, in one request
   async function loadExecutives() {
+    if (!user) return;
+
     try {
       setLoading(true);
-      const executivesData = await api.getExecutives();
-      setExecutives(executivesData);
+      const data = await api.getSecretaryOverview(user.id);
+      const byExecutive: Record<string, ExecutiveOverview> = {};
+      for (const entry of data.executives as ExecutiveOverview[]) {
+        byExecutive[entry.executive.id] = entry;
+      }
+      setOverview(byExecutive);
+      setExecutives(data.executives.map((entry: ExecutiveOverview) => entry.executive));
     } catch (error) {
       console.error('Error loading executives:', error);
     } finally {
@@ -61,16 +82,16 @@ export default function SecretaryDashboard() {
   }
 
   async function loadExecutiveMeetings() {
-    if (!selectedExecutive) return;
+    if (!selectedExecutive || !user) return;
     
     try {
       setLoading(true);
-      const [meetings, schedules] = await Promise.all([
-        api.getMeetings(selectedExecutive),
-        api.getSchedules(selectedExecutive)
-      ]);
-      setExecutiveMeetings(meetings);
-      setExecutiveSchedules(schedules || []);
+      const data = await api.getSecretaryOverview(user.id, selectedExecutive);
+      const entry: ExecutiveOverview | undefined = data.executives[0];
+      if (entry) {
+        setOverview(prev => ({ ...prev, [selectedExecutive]: entry }));
+      }
+      showExecutive(entry);
     } catch (error) {
       console.error('Error loading executive meetings:', error);
     } finally {
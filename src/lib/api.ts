@@ -1,6 +1,13 @@
 // Backend API Service Layer
 const API_BASE_URL = 'http://localhost:8080/api';
 
+// Sends the token from login, if any, as a Bearer credential
+function authFetch(url: string, init: RequestInit = {}) {
+  const token = localStorage.getItem('token');
+  if (!token) return fetch(url, init);
+  return fetch(url, { ...init, headers: { ...init.headers, Authorization: `Bearer ${token}` } });
+}
+
 interface Meeting {
   title: string;
   description: string;
@@ -15,9 +22,19 @@ interface Availability {
 }
 
 export const api = {
+  // ========== DASHBOARD ==========
+  async getDashboard(userId: string) {
+    const response = await authFetch(`${API_BASE_URL}/dashboard/user/${userId}`, {
+      method: 'GET',
+      headers: { 'Content-Type': 'application/json' }
+    });
+    if (!response.ok) throw new Error('Failed to fetch dashboard');
+    return response.json();
+  },
+
   // ========== MEETINGS ==========
   async getMeetings(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/meetings/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/user/${userId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -26,7 +43,7 @@ export const api = {
   },
 
   async getPendingMeetings(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/meetings/pending/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/pending/user/${userId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -35,7 +52,7 @@ export const api = {
   },
 
   async createMeeting(userId: string, meeting: Meeting) {
-    const response = await fetch(`${API_BASE_URL}/meetings/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/user/${userId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify(meeting)
@@ -48,7 +65,7 @@ export const api = {
   },
 
   async updateMeeting(meetingId: string, userId: string, meeting: Partial<Meeting>) {
-    const response = await fetch(`${API_BASE_URL}/meetings/${meetingId}/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/${meetingId}/user/${userId}`, {
       method: 'PUT',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify(meeting)
@@ -58,7 +75,7 @@ export const api = {
   },
 
   async deleteMeeting(meetingId: string, userId: string) {
-    const response = await fetch(`${API_BASE_URL}/meetings/${meetingId}/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/${meetingId}/user/${userId}`, {
       method: 'DELETE'
     });
     if (!response.ok) throw new Error('Failed to delete meeting');
@@ -66,7 +83,7 @@ export const api = {
   },
 
   async markMeetingCompleted(meetingId: string, userId: string) {
-    const response = await fetch(`${API_BASE_URL}/meetings/${meetingId}/complete/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/${meetingId}/complete/user/${userId}`, {
       method: 'POST'
     });
     if (!response.ok) throw new Error('Failed to mark meeting as completed');
@@ -74,7 +91,7 @@ export const api = {
   },
 
   async createMeetingWithParticipants(userId: string, meetingData: any) {
-    const response = await fetch(`${API_BASE_URL}/meetings/with-participants/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/meetings/with-participants/user/${userId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify(meetingData)
@@ -88,7 +105,7 @@ export const api = {
 
   // ========== SCHEDULES ==========
   async getSchedules(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/schedules/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/schedules/user/${userId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -97,7 +114,7 @@ export const api = {
   },
 
   async optimizeSchedule(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/schedules/optimize/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/schedules/optimize/user/${userId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -110,7 +127,7 @@ export const api = {
 
   // ========== AVAILABILITY ==========
   async getAvailability(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/availability/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/availability/user/${userId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -119,7 +136,7 @@ export const api = {
   },
 
   async createAvailability(userId: string, availability: Availability) {
-    const response = await fetch(`${API_BASE_URL}/availability/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/availability/user/${userId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify(availability)
@@ -132,7 +149,7 @@ export const api = {
   },
 
   async deleteAvailability(availabilityId: string, userId: string) {
-    const response = await fetch(`${API_BASE_URL}/availability/${availabilityId}/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/availability/${availabilityId}/user/${userId}`, {
       method: 'DELETE'
     });
     if (!response.ok) throw new Error('Failed to delete availability');
@@ -141,7 +158,7 @@ export const api = {
 
   // ========== EXECUTIVE MANAGEMENT ==========
   async getExecutives() {
-    const response = await fetch(`${API_BASE_URL}/executives`, {
+    const response = await authFetch(`${API_BASE_URL}/executives`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -150,7 +167,7 @@ export const api = {
   },
 
   async getAllUsers() {
-    const response = await fetch(`${API_BASE_URL}/executives/all`, {
+    const response = await authFetch(`${API_BASE_URL}/executives/all`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -158,8 +175,18 @@ export const api = {
     return response.json();
   },
 
+  async searchUsers(query: string, limit = 20) {
+    const params = new URLSearchParams({ q: query, limit: String(limit) });
+    const response = await authFetch(`${API_BASE_URL}/users/search?${params}`, {
+      method: 'GET',
+      headers: { 'Content-Type': 'application/json' }
+    });
+    if (!response.ok) throw new Error('Failed to search users');
+    return response.json();
+  },
+
   async getExecutivesBySecretary(secretaryId: string) {
-    const response = await fetch(`${API_BASE_URL}/executives/secretary/${secretaryId}`, {
+    const response = await authFetch(`${API_BASE_URL}/executives/secretary/${secretaryId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -167,8 +194,18 @@ export const api = {
     return response.json();
   },
 
+  async getSecretaryOverview(secretaryId: string, executiveId?: string) {
+    const query = executiveId ? `?executiveId=${executiveId}` : '';
+    const response = await authFetch(`${API_BASE_URL}/secretary/${secretaryId}/overview${query}`, {
+      method: 'GET',
+      headers: { 'Content-Type': 'application/json' }
+    });
+    if (!response.ok) throw new Error('Failed to fetch secretary overview');
+    return response.json();
+  },
+
   async assignSecretaryToExecutive(executiveId: string, secretaryId: string) {
-    const response = await fetch(`${API_BASE_URL}/executives/${executiveId}/assign-secretary/${secretaryId}`, {
+    const response = await authFetch(`${API_BASE_URL}/executives/${executiveId}/assign-secretary/${secretaryId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -178,7 +215,7 @@ export const api = {
 
   // ========== NOTIFICATIONS ==========
   async getNotifications(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/notifications/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/notifications/user/${userId}`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -187,7 +224,7 @@ export const api = {
   },
 
   async markNotificationAsRead(notificationId: string, userId: string) {
-    const response = await fetch(`${API_BASE_URL}/notifications/${notificationId}/mark-read/user/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/notifications/${notificationId}/mark-read/user/${userId}`, {
       method: 'POST'
     });
     if (!response.ok) throw new Error('Failed to mark notification as read');
@@ -196,7 +233,7 @@ export const api = {
 
   // ========== CUSTOM SCHEDULING ==========
   async createCustomSchedule(executiveId: string, meetingId: string, startTime: string, endTime: string) {
-    const response = await fetch(`${API_BASE_URL}/schedules/custom/user/${executiveId}`, {
+    const response = await authFetch(`${API_BASE_URL}/schedules/custom/user/${executiveId}`, {
       method: 'POST',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ meetingId, startTime, endTime })
@@ -209,7 +246,7 @@ export const api = {
   },
 
   async updateMeetingSchedule(executiveId: string, meetingId: string, startTime: string, endTime: string) {
-    const response = await fetch(`${API_BASE_URL}/schedules/update/user/${executiveId}`, {
+    const response = await authFetch(`${API_BASE_URL}/schedules/update/user/${executiveId}`, {
       method: 'PUT',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ meetingId, startTime, endTime })
@@ -223,7 +260,7 @@ export const api = {
 
   // ========== ADMIN ==========
   async getAllUsersForAdmin() {
-    const response = await fetch(`${API_BASE_URL}/admin/users`, {
+    const response = await authFetch(`${API_BASE_URL}/admin/users`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -232,7 +269,7 @@ export const api = {
   },
 
   async updateUserRole(userId: string, role: string) {
-    const response = await fetch(`${API_BASE_URL}/admin/users/${userId}/role`, {
+    const response = await authFetch(`${API_BASE_URL}/admin/users/${userId}/role`, {
       method: 'PUT',
       headers: { 'Content-Type': 'application/json' },
       body: JSON.stringify({ role })
@@ -245,7 +282,7 @@ export const api = {
   },
 
   async deleteUser(userId: string) {
-    const response = await fetch(`${API_BASE_URL}/admin/users/${userId}`, {
+    const response = await authFetch(`${API_BASE_URL}/admin/users/${userId}`, {
       method: 'DELETE',
       headers: { 'Content-Type': 'application/json' }
     });
@@ -257,7 +294,7 @@ export const api = {
   },
 
   async getSystemStatistics() {
-    const response = await fetch(`${API_BASE_URL}/admin/statistics`, {
+    const response = await authFetch(`${API_BASE_URL}/admin/statistics`, {
       method: 'GET',
       headers: { 'Content-Type': 'application/json' }
     });
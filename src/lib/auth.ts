@@ -40,6 +40,7 @@ export const authService = {
       full_name: data.fullName,
       role: data.role
     }));
+    localStorage.setItem('token', data.token);
     
     return data;
   },
@@ -66,12 +67,14 @@ export const authService = {
       full_name: data.fullName,
       role: data.role
     }));
+    localStorage.setItem('token', data.token);
     
     return data;
   },
 
   async logout() {
     localStorage.removeItem('user');
+    localStorage.removeItem('token');
   },
 
   async getCurrentUser() {